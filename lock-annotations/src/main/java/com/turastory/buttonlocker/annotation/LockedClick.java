@@ -0,0 +1,34 @@
+package com.turastory.buttonlocker.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * 메서드를 id에 해당하는 View의 클릭 리스너로 연결하고, 메서드가 반환한 작업이 끝날 때까지 클릭을 막는다.
+ * 컴파일 시점에 OnClickAsyncListener를 사용하는 바인딩 코드가 생성된다.
+ * <p>
+ * 메서드는 private이 아니어야 하며, 파라미터가 없거나 View(또는 하위 타입) 하나만 받고, ClickTask를 반환해야 한다.
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.METHOD)
+public @interface LockedClick {
+
+    /**
+     * 클릭 리스너를 연결할 View의 id
+     */
+    int id();
+
+    /**
+     * 동시에 진행할 수 있는 최대 작업 수
+     */
+    int maxInFlight() default 1;
+
+    /**
+     * 작업의 최대 진행 시간 (ms). 0이면 시간 제한이 없다.
+     */
+    long timeoutMs() default 0;
+}
@@ -0,0 +1,43 @@
+package com.turastory.buttonlocker.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * 메서드를 id에 해당하는 View의 클릭 리스너로 연결하고, 일정 시간 내의 연속 클릭을 막는다.
+ * 컴파일 시점에 OnClickTimeListener를 사용하는 바인딩 코드가 생성된다.
+ * <p>
+ * 메서드는 private이 아니어야 하며, 파라미터가 없거나 View(또는 Button 같은 하위 타입) 하나만 받아야 한다.
+ * 하위 타입을 받으면 클릭된 View가 그 타입으로 캐스팅되어 전달된다.
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.METHOD)
+public @interface ThrottledClick {
+
+    int NO_GROUP = -1;
+
+    /**
+     * 전역 DebounceRegistry의 capacity. 그룹 id는 이보다 작아야 한다.
+     */
+    int MAX_GROUPS = 32;
+
+    /**
+     * 클릭 리스너를 연결할 View의 id
+     */
+    int id();
+
+    /**
+     * 허용되는 클릭 간격 (ms)
+     */
+    long intervalMs() default 1000;
+
+    /**
+     * 전역 DebounceRegistry에서 클릭 시간을 공유할 그룹 id. 기본값은 그룹을 사용하지 않는다.
+     * 0 이상 {@link #MAX_GROUPS} 미만이어야 하며, 범위를 벗어나면 컴파일 에러가 난다.
+     */
+    int group() default NO_GROUP;
+}
@@ -0,0 +1,20 @@
+package android.os;
+
+/**
+ * Minimal stand-in for the framework Handler. Posted callbacks are dropped,
+ * so trailing/timeout paths are not part of the measured work.
+ */
+public class Handler {
+
+    public Handler(Looper looper) {
+
+    }
+
+    public final boolean postDelayed(Runnable r, long delayMillis) {
+        return true;
+    }
+
+    public final void removeCallbacks(Runnable r) {
+
+    }
+}
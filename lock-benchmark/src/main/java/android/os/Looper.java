@@ -0,0 +1,17 @@
+package android.os;
+
+/**
+ * Minimal stand-in for the framework Looper.
+ */
+public final class Looper {
+
+    private static final Looper MAIN = new Looper();
+
+    private Looper() {
+
+    }
+
+    public static Looper getMainLooper() {
+        return MAIN;
+    }
+}
@@ -0,0 +1,15 @@
+package android.os;
+
+/**
+ * Minimal stand-in for the framework SystemClock.
+ */
+public final class SystemClock {
+
+    private SystemClock() {
+
+    }
+
+    public static long uptimeMillis() {
+        return System.nanoTime() / 1_000_000L;
+    }
+}
@@ -0,0 +1,11 @@
+package android.view;
+
+/**
+ * Minimal stand-in for the framework View so the click proxies can run on a plain JVM.
+ */
+public class View {
+
+    public interface OnClickListener {
+        void onClick(View v);
+    }
+}
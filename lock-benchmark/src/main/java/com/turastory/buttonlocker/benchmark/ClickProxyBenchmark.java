@@ -0,0 +1,204 @@
+package com.turastory.buttonlocker.benchmark;
+
+import android.view.View;
+
+import com.turastory.buttonlocker.ClickGate;
+import com.turastory.buttonlocker.ClickMetrics;
+import com.turastory.buttonlocker.ClickRateLimiter;
+import com.turastory.buttonlocker.DebounceRegistry;
+import com.turastory.buttonlocker.OnClickCallbackListener;
+import com.turastory.buttonlocker.OnClickTimeListener;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * 클릭 프록시의 onClick 경로에 드는 비용을 측정한다.
+ * 단일 스레드와, 같은 리스너를 여러 스레드가 동시에 누르는 경우를 나눠서 측정한다.
+ * <p>
+ * 실행: ./gradlew :lock-benchmark:jmh (gc 프로파일러의 gc.alloc.rate.norm이 0에 가까워야 한다.)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClickProxyBenchmark {
+
+    private static final View VIEW = new View();
+
+    /**
+     * 스레드마다 따로 갖는 리스너. 단일 스레드 측정에 사용한다.
+     */
+    @State(Scope.Thread)
+    public static class Local {
+        Listeners listeners;
+
+        @Setup
+        public void setup() {
+            listeners = new Listeners();
+        }
+    }
+
+    /**
+     * 모든 스레드가 공유하는 리스너. 경합 상황 측정에 사용한다.
+     */
+    @State(Scope.Benchmark)
+    public static class Shared {
+        Listeners listeners;
+
+        @Setup
+        public void setup() {
+            listeners = new Listeners();
+        }
+    }
+
+    static class Listeners {
+        final Counter counter = new Counter();
+        final ClickGate gate = new ClickGate();
+        final DebounceRegistry registry = new DebounceRegistry(4);
+        final ClickRateLimiter tokenBucket = ClickRateLimiter.tokenBucket(5, 1);
+
+        final OnClickTimeListener timeListener = new OnClickTimeListener(1000) {
+            @Override
+            public void onClickProxy(View v) {
+                counter.count++;
+            }
+        };
+
+        final OnClickTimeListener groupTimeListener = new OnClickTimeListener(1000, registry, 0) {
+            @Override
+            public void onClickProxy(View v) {
+                counter.count++;
+            }
+        };
+
+        final OnClickCallbackListener callbackListener = new OnClickCallbackListener() {
+            @Override
+            public void onClickProxy(View v) {
+                counter.count++;
+            }
+        };
+
+        final OnClickCallbackListener unlockingCallbackListener = new OnClickCallbackListener() {
+            @Override
+            public void onClickProxy(View v) {
+                counter.count++;
+                tryUnlock(lockToken());
+            }
+        };
+
+        final OnClickCallbackListener keyedCallbackListener = new OnClickCallbackListener() {
+            @Override
+            public void onClickProxy(View v) {
+                counter.count += idempotencyKey().length();
+                unlock();
+            }
+        };
+
+        final OnClickCallbackListener meteredCallbackListener = new OnClickCallbackListener() {
+            @Override
+            public void onClickProxy(View v) {
+                counter.count++;
+                unlock();
+            }
+        };
+
+        Listeners() {
+            meteredCallbackListener.setMetrics(new ClickMetrics());
+        }
+    }
+
+    static class Counter {
+        long count;
+    }
+
+    // 단일 스레드
+
+    @Benchmark
+    public void timeListener_suppressed(Local state) {
+        state.listeners.timeListener.onClick(VIEW);
+    }
+
+    @Benchmark
+    public void timeListener_groupSuppressed(Local state) {
+        state.listeners.groupTimeListener.onClick(VIEW);
+    }
+
+    @Benchmark
+    public void callbackListener_suppressed(Local state) {
+        state.listeners.callbackListener.onClick(VIEW);
+    }
+
+    @Benchmark
+    public void callbackListener_lockAndUnlock(Local state) {
+        state.listeners.unlockingCallbackListener.onClick(VIEW);
+    }
+
+    /**
+     * 키를 쓰는 클릭만 UUID를 만드는 비용을 낸다. lockAndUnlock과의 차이가 그 비용이다.
+     */
+    @Benchmark
+    public void callbackListener_lockAndUnlockWithIdempotencyKey(Local state) {
+        state.listeners.keyedCallbackListener.onClick(VIEW);
+    }
+
+    @Benchmark
+    public void callbackListener_lockAndUnlockWithMetrics(Local state) {
+        state.listeners.meteredCallbackListener.onClick(VIEW);
+    }
+
+    @Benchmark
+    public void clickGate_lockAndUnlock(Local state) {
+        ClickGate gate = state.listeners.gate;
+        gate.tryUnlock(gate.tryLock());
+    }
+
+    @Benchmark
+    public boolean tokenBucket_onClick(Local state) {
+        return state.listeners.tokenBucket.onClick(System.nanoTime() / 1_000_000L);
+    }
+
+    // 경합 (4 스레드가 같은 리스너를 누른다)
+
+    @Benchmark
+    @Threads(4)
+    public void timeListener_contended(Shared state) {
+        state.listeners.timeListener.onClick(VIEW);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void timeListener_groupContended(Shared state) {
+        state.listeners.groupTimeListener.onClick(VIEW);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void callbackListener_contended(Shared state) {
+        state.listeners.callbackListener.onClick(VIEW);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void clickGate_contended(Shared state, Blackhole blackhole) {
+        ClickGate gate = state.listeners.gate;
+        long token = gate.tryLock();
+        blackhole.consume(token);
+        gate.tryUnlock(token);
+    }
+}
@@ -0,0 +1,303 @@
+package com.turastory.buttonlocker.compiler;
+
+import com.turastory.buttonlocker.annotation.LockedClick;
+import com.turastory.buttonlocker.annotation.ThrottledClick;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * {@link ThrottledClick}, {@link LockedClick}이 붙은 메서드를 찾아서
+ * 클래스마다 {@code <ClassName>_ClickBinding} 클래스를 생성한다.
+ * <p>
+ * 생성된 클래스의 bind 메서드는 리스너를 View마다 한 번만 만들어서 연결하므로,
+ * 실행 시점에 리플렉션을 사용하지 않고 클릭할 때마다 객체를 만들지도 않는다.
+ */
+public class ClickBindingProcessor extends AbstractProcessor {
+
+    static final String BINDING_SUFFIX = "_ClickBinding";
+
+    private static final String VIEW = "android.view.View";
+    private static final String ACTIVITY = "android.app.Activity";
+    private static final String CLICK_TASK = "com.turastory.buttonlocker.ClickTask";
+    private static final String TIME_LISTENER = "com.turastory.buttonlocker.OnClickTimeListener";
+    private static final String ASYNC_LISTENER = "com.turastory.buttonlocker.OnClickAsyncListener";
+    private static final String DEBOUNCE_REGISTRY = "com.turastory.buttonlocker.DebounceRegistry";
+
+    private Elements elements;
+    private Types types;
+    private Messager messager;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        elements = processingEnv.getElementUtils();
+        types = processingEnv.getTypeUtils();
+        messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return new HashSet<>(Arrays.asList(
+            ThrottledClick.class.getCanonicalName(),
+            LockedClick.class.getCanonicalName()));
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Map<TypeElement, List<Binding>> bindings = new LinkedHashMap<>();
+        Set<TypeElement> failed = new HashSet<>();
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(ThrottledClick.class)) {
+            ThrottledClick annotation = element.getAnnotation(ThrottledClick.class);
+            Binding binding = parse(element, ThrottledClick.class, false);
+
+            if (binding != null) {
+                int group = annotation.group();
+
+                if (group != ThrottledClick.NO_GROUP && (group < 0 || group >= ThrottledClick.MAX_GROUPS)) {
+                    error(element, "@ThrottledClick group must be in [0, " + ThrottledClick.MAX_GROUPS + ") or NO_GROUP: " + group);
+                    continue;
+                }
+
+                binding.id = annotation.id();
+                binding.intervalMs = annotation.intervalMs();
+                binding.group = annotation.group();
+                add(bindings, failed, binding);
+            }
+        }
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(LockedClick.class)) {
+            LockedClick annotation = element.getAnnotation(LockedClick.class);
+            Binding binding = parse(element, LockedClick.class, true);
+
+            if (binding != null) {
+                if (annotation.maxInFlight() <= 0) {
+                    error(element, "@LockedClick maxInFlight must be positive.");
+                    continue;
+                }
+
+                binding.id = annotation.id();
+                binding.maxInFlight = annotation.maxInFlight();
+                binding.timeoutMs = annotation.timeoutMs();
+                add(bindings, failed, binding);
+            }
+        }
+
+        for (Map.Entry<TypeElement, List<Binding>> entry : bindings.entrySet()) {
+            if (!failed.contains(entry.getKey()))
+                write(entry.getKey(), entry.getValue());
+        }
+
+        return true;
+    }
+
+    private Binding parse(Element element, Class<?> annotation, boolean locked) {
+        String name = "@" + annotation.getSimpleName();
+
+        if (element.getKind() != ElementKind.METHOD) {
+            error(element, name + " can only be applied to methods.");
+            return null;
+        }
+
+        ExecutableElement method = (ExecutableElement) element;
+        TypeElement enclosing = (TypeElement) method.getEnclosingElement();
+        Set<Modifier> modifiers = method.getModifiers();
+
+        if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.STATIC)) {
+            error(element, name + " methods must not be private or static.");
+            return null;
+        }
+
+        if (enclosing.getModifiers().contains(Modifier.PRIVATE)) {
+            error(element, name + " methods must not be in a private class.");
+            return null;
+        }
+
+        List<? extends VariableElement> parameters = method.getParameters();
+        boolean passView = parameters.size() == 1;
+
+        if (parameters.size() > 1 || (passView && !isView(parameters.get(0).asType()))) {
+            error(element, name + " methods must take no parameters or a single View or View subtype.");
+            return null;
+        }
+
+        if (locked && !CLICK_TASK.equals(method.getReturnType().toString())) {
+            error(element, name + " methods must return " + CLICK_TASK + ".");
+            return null;
+        }
+
+        Binding binding = new Binding();
+        binding.method = method;
+        binding.enclosing = enclosing;
+        binding.methodName = method.getSimpleName().toString();
+        binding.passView = passView;
+        binding.viewType = passView ? types.erasure(parameters.get(0).asType()).toString() : VIEW;
+        binding.locked = locked;
+        return binding;
+    }
+
+    // A second listener on the same view would replace the first, so an id may only be bound once per class.
+    private void add(Map<TypeElement, List<Binding>> bindings, Set<TypeElement> failed, Binding binding) {
+        List<Binding> list = bindings.get(binding.enclosing);
+
+        if (list == null) {
+            list = new ArrayList<>();
+            bindings.put(binding.enclosing, list);
+        }
+
+        for (Binding other : list) {
+            if (other.id == binding.id) {
+                error(binding.method, "View id " + binding.id + " is already bound to " + other.methodName + "().");
+                failed.add(binding.enclosing);
+                return;
+            }
+        }
+
+        list.add(binding);
+    }
+
+    private void write(TypeElement target, List<Binding> bindings) {
+        PackageElement packageElement = elements.getPackageOf(target);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        String targetName = target.getQualifiedName().toString();
+        String bindingName = bindingClassName(target, packageName);
+
+        StringBuilder source = new StringBuilder();
+        source.append("// Generated code from lock-compiler. Do not modify!\n");
+
+        if (!packageName.isEmpty())
+            source.append("package ").append(packageName).append(";\n\n");
+
+        source.append("import android.view.View;\n\n");
+        source.append("public final class ").append(bindingName).append(" {\n\n");
+        source.append("    private ").append(bindingName).append("() {\n");
+        source.append("    }\n\n");
+
+        if (isActivity(target)) {
+            source.append("    public static void bind(final ").append(targetName).append(" target) {\n");
+            source.append("        bind(target, target.getWindow().getDecorView());\n");
+            source.append("    }\n\n");
+        }
+
+        source.append("    public static void bind(final ").append(targetName).append(" target, View source) {\n");
+
+        for (Binding binding : bindings) {
+            source.append("        source.findViewById(").append(binding.id).append(")")
+                .append(".setOnClickListener(new ");
+
+            if (binding.locked) {
+                source.append(ASYNC_LISTENER).append("(")
+                    .append(binding.maxInFlight).append(", ").append(binding.timeoutMs).append("L) {\n");
+                source.append("            @Override\n");
+                source.append("            protected ").append(CLICK_TASK).append(" onClickAsync(View v) {\n");
+                source.append("                return target.").append(binding.methodName)
+                    .append(arguments(binding)).append(";\n");
+            } else {
+                source.append(TIME_LISTENER).append("(").append(binding.intervalMs).append("L");
+
+                if (binding.group != ThrottledClick.NO_GROUP)
+                    source.append(", ").append(DEBOUNCE_REGISTRY).append(".global(), ").append(binding.group);
+
+                source.append(") {\n");
+                source.append("            @Override\n");
+                source.append("            public void onClickProxy(View v) {\n");
+                source.append("                target.").append(binding.methodName)
+                    .append(arguments(binding)).append(";\n");
+            }
+
+            source.append("            }\n");
+            source.append("        });\n");
+        }
+
+        source.append("    }\n");
+        source.append("}\n");
+
+        String qualifiedName = packageName.isEmpty() ? bindingName : packageName + "." + bindingName;
+
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, target);
+
+            try (Writer writer = file.openWriter()) {
+                writer.write(source.toString());
+            }
+        } catch (IOException e) {
+            error(target, "Unable to write click binding for " + targetName + ": " + e.getMessage());
+        }
+    }
+
+    // A View subtype parameter gets the clicked view cast to it.
+    private static String arguments(Binding binding) {
+        if (!binding.passView)
+            return "()";
+
+        return VIEW.equals(binding.viewType) ? "(v)" : "((" + binding.viewType + ") v)";
+    }
+
+    static String bindingClassName(TypeElement target, String packageName) {
+        String qualifiedName = target.getQualifiedName().toString();
+        String className = packageName.isEmpty() ? qualifiedName : qualifiedName.substring(packageName.length() + 1);
+        return className.replace('.', '_') + BINDING_SUFFIX;
+    }
+
+    // View or a subtype of it, like Button.
+    private boolean isView(TypeMirror type) {
+        TypeElement view = elements.getTypeElement(VIEW);
+        return view != null && types.isAssignable(type, view.asType());
+    }
+
+    private boolean isActivity(TypeElement target) {
+        TypeElement activity = elements.getTypeElement(ACTIVITY);
+        return activity != null && types.isSubtype(target.asType(), activity.asType());
+    }
+
+    private void error(Element element, String message) {
+        messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static class Binding {
+        ExecutableElement method;
+        TypeElement enclosing;
+        String methodName;
+        boolean passView;
+        String viewType;
+        boolean locked;
+        int id;
+        long intervalMs;
+        int group;
+        int maxInFlight;
+        long timeoutMs;
+    }
+}
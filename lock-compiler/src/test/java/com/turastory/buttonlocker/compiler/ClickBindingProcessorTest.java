@@ -0,0 +1,286 @@
+package com.turastory.buttonlocker.compiler;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Created by tura on 2026-10-18.
+ */
+public class ClickBindingProcessorTest {
+
+    // 생성된 코드가 컴파일되는지 확인하기 위한 android와 lock 모듈의 최소한의 대역.
+    private static final List<JavaFileObject> STUBS = Arrays.asList(
+        source("android.view.View",
+            "package android.view;",
+            "public class View {",
+            "    public interface OnClickListener { void onClick(View v); }",
+            "    public View findViewById(int id) { return this; }",
+            "    public void setOnClickListener(OnClickListener listener) {}",
+            "}"),
+        source("android.view.Window",
+            "package android.view;",
+            "public class Window { public View getDecorView() { return null; } }"),
+        source("android.widget.Button",
+            "package android.widget;",
+            "public class Button extends android.view.View {}"),
+        source("android.app.Activity",
+            "package android.app;",
+            "public class Activity { public android.view.Window getWindow() { return null; } }"),
+        source("com.turastory.buttonlocker.ClickTask",
+            "package com.turastory.buttonlocker;",
+            "public final class ClickTask {}"),
+        source("com.turastory.buttonlocker.DebounceRegistry",
+            "package com.turastory.buttonlocker;",
+            "public final class DebounceRegistry { public static DebounceRegistry global() { return null; } }"),
+        source("com.turastory.buttonlocker.OnClickTimeListener",
+            "package com.turastory.buttonlocker;",
+            "import android.view.View;",
+            "public abstract class OnClickTimeListener implements View.OnClickListener {",
+            "    public OnClickTimeListener(long interval) {}",
+            "    public OnClickTimeListener(long interval, DebounceRegistry registry, int groupId) {}",
+            "    public void onClick(View v) { onClickProxy(v); }",
+            "    public abstract void onClickProxy(View v);",
+            "}"),
+        source("com.turastory.buttonlocker.OnClickAsyncListener",
+            "package com.turastory.buttonlocker;",
+            "import android.view.View;",
+            "public abstract class OnClickAsyncListener implements View.OnClickListener {",
+            "    public OnClickAsyncListener(int maxInFlight, long timeoutMs) {}",
+            "    public void onClick(View v) { onClickAsync(v); }",
+            "    protected abstract ClickTask onClickAsync(View v);",
+            "}"));
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void test_throttledClickBinding() throws Exception {
+        Result result = compile(source("test.MainScreen",
+            "package test;",
+            "import android.view.View;",
+            "import com.turastory.buttonlocker.annotation.ThrottledClick;",
+            "public class MainScreen {",
+            "    @ThrottledClick(id = 1, intervalMs = 500) void onSave() {}",
+            "    @ThrottledClick(id = 2, group = 3) void onNext(View v) {}",
+            "}"));
+
+        assertThat(result.errors().toString(), result.success, is(true));
+
+        String generated = result.generated("test/MainScreen_ClickBinding.java");
+        assertThat(generated, containsString("public static void bind(final test.MainScreen target, View source) {"));
+        assertThat(generated, containsString(
+            "source.findViewById(1).setOnClickListener(new com.turastory.buttonlocker.OnClickTimeListener(500L) {"));
+        assertThat(generated, containsString("target.onSave();"));
+        assertThat(generated, containsString("new com.turastory.buttonlocker.OnClickTimeListener(1000L, "
+            + "com.turastory.buttonlocker.DebounceRegistry.global(), 3) {"));
+        assertThat(generated, containsString("target.onNext(v);"));
+    }
+
+    @Test
+    public void test_lockedClickBinding() throws Exception {
+        Result result = compile(source("test.MainScreen",
+            "package test;",
+            "import com.turastory.buttonlocker.ClickTask;",
+            "import com.turastory.buttonlocker.annotation.LockedClick;",
+            "public class MainScreen {",
+            "    @LockedClick(id = 1, maxInFlight = 2, timeoutMs = 3000) ClickTask onSubmit() { return null; }",
+            "}"));
+
+        assertThat(result.errors().toString(), result.success, is(true));
+
+        String generated = result.generated("test/MainScreen_ClickBinding.java");
+        assertThat(generated, containsString("new com.turastory.buttonlocker.OnClickAsyncListener(2, 3000L) {"));
+        assertThat(generated, containsString("return target.onSubmit();"));
+    }
+
+    @Test
+    public void test_viewSubtypeParameterIsCast() throws Exception {
+        Result result = compile(source("test.MainScreen",
+            "package test;",
+            "import android.widget.Button;",
+            "import com.turastory.buttonlocker.annotation.ThrottledClick;",
+            "public class MainScreen {",
+            "    @ThrottledClick(id = 1) void onClick(Button button) {}",
+            "}"));
+
+        assertThat(result.errors().toString(), result.success, is(true));
+        assertThat(result.generated("test/MainScreen_ClickBinding.java"),
+            containsString("target.onClick((android.widget.Button) v);"));
+    }
+
+    @Test
+    public void test_activityBindsDecorView() throws Exception {
+        Result result = compile(source("test.MainActivity",
+            "package test;",
+            "import com.turastory.buttonlocker.annotation.ThrottledClick;",
+            "public class MainActivity extends android.app.Activity {",
+            "    @ThrottledClick(id = 1) void onClick() {}",
+            "}"));
+
+        assertThat(result.errors().toString(), result.success, is(true));
+        assertThat(result.generated("test/MainActivity_ClickBinding.java"),
+            containsString("bind(target, target.getWindow().getDecorView());"));
+    }
+
+    @Test
+    public void test_nestedClassBindingName() throws Exception {
+        Result result = compile(source("test.Outer",
+            "package test;",
+            "import com.turastory.buttonlocker.annotation.ThrottledClick;",
+            "public class Outer {",
+            "    public static class Inner {",
+            "        @ThrottledClick(id = 1) void onClick() {}",
+            "    }",
+            "}"));
+
+        assertThat(result.errors().toString(), result.success, is(true));
+        assertThat(result.generated("test/Outer_Inner_ClickBinding.java"),
+            containsString("public static void bind(final test.Outer.Inner target, View source) {"));
+    }
+
+    @Test
+    public void test_privateMethodIsRejected() throws Exception {
+        assertError("    @ThrottledClick(id = 1) private void onClick() {}",
+            "@ThrottledClick methods must not be private or static.");
+    }
+
+    @Test
+    public void test_nonViewParameterIsRejected() throws Exception {
+        assertError("    @ThrottledClick(id = 1) void onClick(String text) {}",
+            "@ThrottledClick methods must take no parameters or a single View or View subtype.");
+    }
+
+    @Test
+    public void test_negativeGroupIsRejected() throws Exception {
+        assertError("    @ThrottledClick(id = 1, group = -2) void onClick() {}",
+            "@ThrottledClick group must be in [0, 32) or NO_GROUP: -2");
+    }
+
+    @Test
+    public void test_groupOutOfGlobalRegistryIsRejected() throws Exception {
+        assertError("    @ThrottledClick(id = 1, group = 32) void onClick() {}",
+            "@ThrottledClick group must be in [0, 32) or NO_GROUP: 32");
+    }
+
+    @Test
+    public void test_duplicateIdIsRejected() throws Exception {
+        assertError("    @ThrottledClick(id = 1) void onSave() {}\n"
+                + "    @LockedClick(id = 1) com.turastory.buttonlocker.ClickTask onSubmit() { return null; }",
+            "View id 1 is already bound to onSave().");
+    }
+
+    @Test
+    public void test_lockedClickMustReturnClickTask() throws Exception {
+        assertError("    @LockedClick(id = 1) void onClick() {}",
+            "@LockedClick methods must return com.turastory.buttonlocker.ClickTask.");
+    }
+
+    @Test
+    public void test_lockedClickMaxInFlightMustBePositive() throws Exception {
+        assertError("    @LockedClick(id = 1, maxInFlight = 0) com.turastory.buttonlocker.ClickTask onClick() { return null; }",
+            "@LockedClick maxInFlight must be positive.");
+    }
+
+    private void assertError(String method, String message) throws IOException {
+        Result result = compile(source("test.MainScreen",
+            "package test;",
+            "import com.turastory.buttonlocker.annotation.LockedClick;",
+            "import com.turastory.buttonlocker.annotation.ThrottledClick;",
+            "public class MainScreen {",
+            method,
+            "}"));
+
+        assertThat(result.success, is(false));
+        assertThat(result.errors(), is(Collections.singletonList(message)));
+        // 잘못된 메서드는 바인딩을 만들지 않는다.
+        assertThat(result.exists("test/MainScreen_ClickBinding.java"), is(false));
+    }
+
+    private Result compile(JavaFileObject source) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8);
+
+        File classes = folder.newFolder();
+        File generated = folder.newFolder();
+        fileManager.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singletonList(classes));
+        fileManager.setLocation(StandardLocation.SOURCE_OUTPUT, Collections.singletonList(generated));
+
+        List<JavaFileObject> sources = new ArrayList<>(STUBS);
+        sources.add(source);
+
+        JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+            Arrays.asList("-classpath", System.getProperty("java.class.path")), null, sources);
+        task.setProcessors(Collections.singletonList(new ClickBindingProcessor()));
+
+        boolean success = task.call();
+        fileManager.close();
+        return new Result(success, diagnostics.getDiagnostics(), generated);
+    }
+
+    private static JavaFileObject source(String qualifiedName, String... lines) {
+        URI uri = URI.create("string:///" + qualifiedName.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension);
+
+        return new SimpleJavaFileObject(uri, JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return String.join("\n", lines);
+            }
+        };
+    }
+
+    private static class Result {
+        final boolean success;
+        final List<Diagnostic<? extends JavaFileObject>> diagnostics;
+        final File generatedDir;
+
+        Result(boolean success, List<Diagnostic<? extends JavaFileObject>> diagnostics, File generatedDir) {
+            this.success = success;
+            this.diagnostics = diagnostics;
+            this.generatedDir = generatedDir;
+        }
+
+        List<String> errors() {
+            List<String> errors = new ArrayList<>();
+
+            for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics) {
+                if (diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                    errors.add(diagnostic.getMessage(null));
+            }
+
+            return errors;
+        }
+
+        boolean exists(String path) {
+            return new File(generatedDir, path).exists();
+        }
+
+        String generated(String path) throws IOException {
+            return new String(Files.readAllBytes(new File(generatedDir, path).toPath()), StandardCharsets.UTF_8);
+        }
+    }
+}
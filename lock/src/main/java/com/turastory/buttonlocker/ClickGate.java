@@ -0,0 +1,83 @@
+package com.turastory.buttonlocker;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * 모니터 락 없이 CAS로만 동작하는 클릭 게이트. IDLE -> RUNNING -> IDLE 상태를 오간다.
+ * <p>
+ * 상태는 하나의 long 값(세대 번호)으로 표현한다. 짝수는 IDLE, 홀수는 RUNNING이며
+ * lock을 획득할 때 받은 홀수 값이 그 클릭의 토큰이 된다.
+ * 세대 번호는 계속 증가하므로, 이미 풀린 뒤에 늦게 도착한 완료 콜백은
+ * {@link #tryUnlock(long)}으로 새로운 클릭의 lock을 풀 수 없다.
+ */
+public final class ClickGate {
+
+    /**
+     * lock 획득에 실패했을 때 반환되는 토큰. 유효한 토큰은 항상 홀수이다.
+     */
+    public static final long NO_TOKEN = 0;
+
+    private final AtomicLong state = new AtomicLong(0);
+
+    /**
+     * IDLE 상태이면 RUNNING으로 전환한다.
+     *
+     * @return 획득한 lock의 토큰. 이미 RUNNING 상태라면 {@link #NO_TOKEN}.
+     */
+    public long tryLock() {
+        while (true) {
+            long current = state.get();
+
+            if (isRunning(current))
+                return NO_TOKEN;
+
+            if (state.compareAndSet(current, current + 1))
+                return current + 1;
+        }
+    }
+
+    /**
+     * 주어진 토큰으로 획득한 lock이 아직 유지되고 있을 때만 IDLE로 되돌린다.
+     *
+     * @param token {@link #tryLock()}이 반환한 토큰
+     * @return lock을 풀었다면 true, 이미 풀렸거나 다른 클릭의 lock이라면 false.
+     */
+    public boolean tryUnlock(long token) {
+        return isRunning(token) && state.compareAndSet(token, token + 1);
+    }
+
+    /**
+     * 토큰과 상관없이 현재 lock을 강제로 푼다.
+     *
+     * @return lock을 풀었다면 true, 이미 IDLE 상태였다면 false.
+     */
+    public boolean unlock() {
+        while (true) {
+            long current = state.get();
+
+            if (!isRunning(current))
+                return false;
+
+            if (state.compareAndSet(current, current + 1))
+                return true;
+        }
+    }
+
+    public boolean isLocked() {
+        return isRunning(state.get());
+    }
+
+    /**
+     * @return 현재 유지되고 있는 lock의 토큰. IDLE 상태라면 {@link #NO_TOKEN}.
+     */
+    public long currentToken() {
+        long current = state.get();
+        return isRunning(current) ? current : NO_TOKEN;
+    }
+
+    private static boolean isRunning(long value) {
+        return (value & 1) == 1;
+    }
+}
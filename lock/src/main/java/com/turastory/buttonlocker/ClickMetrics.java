@@ -0,0 +1,126 @@
+package com.turastory.buttonlocker;
+
+import com.turastory.metrics.LatencyHistogram;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * 클릭 리스너가 실행한 클릭 수, 막은 클릭 수, lock이 유지된 시간을 기록한다.
+ * <p>
+ * lock 유지 시간은 {@link LatencyHistogram}에 기록하므로, 기록할 때는 객체를 만들지 않는다.
+ * 여러 리스너가 하나의 인스턴스를 공유해도 되고, {@link #snapshot()}으로 언제든 현재 값을 꺼내 로그나 지표로 보낼 수 있다.
+ */
+public final class ClickMetrics {
+
+    private final Clock clock;
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong suppressed = new AtomicLong();
+    private final LatencyHistogram holdTime = new LatencyHistogram();
+
+    public ClickMetrics(Clock clock) {
+        this.clock = clock;
+    }
+
+    public ClickMetrics() {
+        this(Clock.UPTIME);
+    }
+
+    long now() {
+        return clock.now();
+    }
+
+    void recordAccepted() {
+        accepted.incrementAndGet();
+    }
+
+    void recordSuppressed() {
+        suppressed.incrementAndGet();
+    }
+
+    void recordHoldTime(long holdTimeMs) {
+        holdTime.record(holdTimeMs);
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(accepted.get(), suppressed.get(), holdTime.snapshot());
+    }
+
+    public void reset() {
+        accepted.set(0);
+        suppressed.set(0);
+        holdTime.reset();
+    }
+
+    /**
+     * 특정 시점의 기록을 담은 불변 객체.
+     */
+    public static final class Snapshot {
+        private final long accepted;
+        private final long suppressed;
+        private final LatencyHistogram.Snapshot holdTime;
+
+        private Snapshot(long accepted, long suppressed, LatencyHistogram.Snapshot holdTime) {
+            this.accepted = accepted;
+            this.suppressed = suppressed;
+            this.holdTime = holdTime;
+        }
+
+        /**
+         * @return {@link OnClickListenerProxy#onClickProxy(android.view.View)}가 실행된 횟수
+         */
+        public long getAccepted() {
+            return accepted;
+        }
+
+        /**
+         * @return 리스너가 막은 클릭 수
+         */
+        public long getSuppressed() {
+            return suppressed;
+        }
+
+        public LatencyHistogram.Snapshot getHoldTime() {
+            return holdTime;
+        }
+
+        public long getHoldTimeCount() {
+            return holdTime.getCount();
+        }
+
+        public long getHoldTimeMax() {
+            return holdTime.getMax();
+        }
+
+        public double getHoldTimeMean() {
+            return holdTime.getMean();
+        }
+
+        public long[] getHoldTimeBuckets() {
+            return holdTime.getBuckets();
+        }
+
+        /**
+         * @param percentile 0 ~ 100
+         * @return 해당 백분위가 속한 버킷의 상한 (ms). 최댓값을 넘지 않는다.
+         */
+        public long getHoldTimePercentile(double percentile) {
+            return holdTime.getPercentile(percentile);
+        }
+
+        @Override
+        public String toString() {
+            return "ClickMetrics{" +
+                "accepted=" + accepted +
+                ", suppressed=" + suppressed +
+                ", holdCount=" + getHoldTimeCount() +
+                ", holdMean=" + String.format(Locale.US, "%.1f", getHoldTimeMean()) + "ms" +
+                ", holdP50=" + getHoldTimePercentile(50) + "ms" +
+                ", holdP99=" + getHoldTimePercentile(99) + "ms" +
+                ", holdMax=" + getHoldTimeMax() + "ms" +
+                '}';
+        }
+    }
+}
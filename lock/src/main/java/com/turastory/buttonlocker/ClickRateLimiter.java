@@ -0,0 +1,188 @@
+package com.turastory.buttonlocker;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * 클릭을 실행할지, 나중에 실행할지, 버릴지를 결정하는 속도 제한기.
+ * 시간은 항상 인자로 받기 때문에 실제 시계나 스레드 없이도 동작을 검증할 수 있다.
+ * <p>
+ * 지원하는 방식
+ * <ul>
+ * <li>{@link #throttle(long)}: 마지막으로 실행된 클릭으로부터 일정 시간 동안 클릭을 막는다.</li>
+ * <li>{@link #debounce(long, boolean, boolean)}: 클릭이 일정 시간 동안 멈출 때까지를 하나의 묶음으로 보고,
+ * 묶음의 처음(leading) 그리고/또는 마지막(trailing)에 한 번 실행한다.</li>
+ * <li>{@link #tokenBucket(int, long)}: 최대 capacity번까지 연속 클릭을 허용하고, 일정 간격마다 한 번씩 다시 채운다.</li>
+ * </ul>
+ * 하나의 인스턴스는 하나의 스레드(보통 UI 스레드)에서만 사용해야 한다.
+ */
+public abstract class ClickRateLimiter {
+
+    /**
+     * 예약된 trailing 실행이 없음을 나타낸다.
+     */
+    public static final long NO_DEADLINE = Long.MIN_VALUE;
+
+    private ClickRateLimiter() {
+
+    }
+
+    public static ClickRateLimiter throttle(long intervalMs) {
+        return new Throttle(intervalMs);
+    }
+
+    public static ClickRateLimiter debounce(long waitMs, boolean leading, boolean trailing) {
+        if (!leading && !trailing)
+            throw new IllegalArgumentException("At least one of leading or trailing must be enabled.");
+
+        return new Debounce(waitMs, leading, trailing);
+    }
+
+    /**
+     * @param capacity         연속으로 허용되는 최대 클릭 수
+     * @param refillIntervalMs 클릭 하나가 다시 채워지는 간격
+     */
+    public static ClickRateLimiter tokenBucket(int capacity, long refillIntervalMs) {
+        if (capacity <= 0 || refillIntervalMs <= 0)
+            throw new IllegalArgumentException("capacity and refillIntervalMs must be positive.");
+
+        return new TokenBucket(capacity, refillIntervalMs);
+    }
+
+    /**
+     * 클릭이 발생했을 때 호출한다.
+     *
+     * @return 지금 바로 실행해야 하면 true.
+     */
+    public abstract boolean onClick(long now);
+
+    /**
+     * @return trailing 실행이 예약되어 있다면 그 시간, 아니면 {@link #NO_DEADLINE}.
+     */
+    public long trailingDeadline() {
+        return NO_DEADLINE;
+    }
+
+    /**
+     * {@link #trailingDeadline()}에 도달했을 때 호출한다.
+     * 그 사이에 클릭이 더 들어와 deadline이 미뤄졌다면 false를 반환하고, 새 deadline을 다시 확인해야 한다.
+     *
+     * @return 지금 trailing 실행을 해야 하면 true.
+     */
+    public boolean onDeadline(long now) {
+        return false;
+    }
+
+    /**
+     * 예약된 실행을 취소하고 처음 상태로 되돌린다.
+     */
+    public abstract void reset();
+
+    private static class Throttle extends ClickRateLimiter {
+        private final long interval;
+        private long lastFireTime;
+        private boolean fired;
+
+        Throttle(long interval) {
+            this.interval = interval;
+        }
+
+        @Override
+        public boolean onClick(long now) {
+            if (fired && now - lastFireTime <= interval)
+                return false;
+
+            fired = true;
+            lastFireTime = now;
+            return true;
+        }
+
+        @Override
+        public void reset() {
+            fired = false;
+        }
+    }
+
+    private static class Debounce extends ClickRateLimiter {
+        private final long wait;
+        private final boolean leading;
+        private final boolean trailing;
+
+        private boolean clicked;
+        private long lastClickTime;
+        private boolean trailingPending;
+
+        Debounce(long wait, boolean leading, boolean trailing) {
+            this.wait = wait;
+            this.leading = leading;
+            this.trailing = trailing;
+        }
+
+        @Override
+        public boolean onClick(long now) {
+            boolean inBurst = clicked && now - lastClickTime < wait;
+
+            clicked = true;
+            lastClickTime = now;
+
+            if (!inBurst && leading) {
+                trailingPending = false;
+                return true;
+            }
+
+            // leading + trailing에서는 묶음 안에 클릭이 더 있었을 때만 trailing을 실행한다.
+            trailingPending = trailing;
+            return false;
+        }
+
+        @Override
+        public long trailingDeadline() {
+            return trailingPending ? lastClickTime + wait : NO_DEADLINE;
+        }
+
+        @Override
+        public boolean onDeadline(long now) {
+            if (!trailingPending || now < lastClickTime + wait)
+                return false;
+
+            trailingPending = false;
+            return true;
+        }
+
+        @Override
+        public void reset() {
+            clicked = false;
+            trailingPending = false;
+        }
+    }
+
+    /**
+     * GCRA(Generic Cell Rate Algorithm) 방식의 토큰 버킷.
+     * 남은 토큰 수 대신 '이론상 다음 도착 시간' 하나만 저장하므로 정수 연산만으로 동작한다.
+     */
+    private static class TokenBucket extends ClickRateLimiter {
+        private final long emissionInterval;
+        private final long burstTolerance;
+        private long theoreticalArrivalTime = Long.MIN_VALUE;
+
+        TokenBucket(int capacity, long refillInterval) {
+            this.emissionInterval = refillInterval;
+            this.burstTolerance = refillInterval * (capacity - 1);
+        }
+
+        @Override
+        public boolean onClick(long now) {
+            long tat = Math.max(theoreticalArrivalTime, now);
+
+            if (tat - now > burstTolerance)
+                return false;
+
+            theoreticalArrivalTime = tat + emissionInterval;
+            return true;
+        }
+
+        @Override
+        public void reset() {
+            theoreticalArrivalTime = Long.MIN_VALUE;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.turastory.buttonlocker;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * 클릭으로 시작된 비동기 작업의 핸들.
+ * 작업이 성공, 실패, 취소, 시간 초과 중 하나로 끝나면 등록된 리스너가 각각 딱 한 번 호출된다.
+ * <p>
+ * minSdk 16에서는 CompletionStage를 쓸 수 없으므로, 콜백 기반의 작업은 직접 {@link #complete()}/{@link #fail(Throwable)}을 호출하고
+ * Executor에서 실행하는 작업은 {@link #submit(ExecutorService, Runnable)}로 감싸서 사용한다.
+ */
+public final class ClickTask {
+
+    public interface OnDoneListener {
+        void onDone(ClickTask task);
+    }
+
+    public static final int PENDING = 0;
+    public static final int SUCCEEDED = 1;
+    public static final int FAILED = 2;
+    public static final int CANCELED = 3;
+    public static final int TIMED_OUT = 4;
+
+    private final AtomicInteger state = new AtomicInteger(PENDING);
+    private final CopyOnWriteArrayList<Registration> registrations = new CopyOnWriteArrayList<>();
+
+    private volatile Throwable error;
+    private volatile Future<?> future;
+
+    /**
+     * executor에서 work를 실행하고, 끝나면 자동으로 완료되는 작업을 만든다.
+     * 작업이 취소되거나 시간이 초과되면 실행 중인 스레드를 interrupt한다.
+     */
+    public static ClickTask submit(ExecutorService executor, Runnable work) {
+        ClickTask task = new ClickTask();
+
+        task.future = executor.submit(() -> {
+            try {
+                work.run();
+                task.complete();
+            } catch (Throwable t) {
+                // Error로 끝나도 작업이 PENDING에 머물러 lock이 풀리지 않는 일이 없도록 한다.
+                task.fail(t);
+            }
+        });
+
+        // future가 할당되기 전에 취소된 경우
+        if (task.isCanceled())
+            task.future.cancel(true);
+
+        return task;
+    }
+
+    public boolean complete() {
+        return finish(SUCCEEDED);
+    }
+
+    public boolean fail(Throwable error) {
+        this.error = error;
+        return finish(FAILED);
+    }
+
+    public boolean cancel() {
+        return finish(CANCELED);
+    }
+
+    boolean timeOut() {
+        return finish(TIMED_OUT);
+    }
+
+    public int getState() {
+        return state.get();
+    }
+
+    public boolean isDone() {
+        return state.get() != PENDING;
+    }
+
+    public boolean isCanceled() {
+        int current = state.get();
+        return current == CANCELED || current == TIMED_OUT;
+    }
+
+    public Throwable getError() {
+        return error;
+    }
+
+    /**
+     * 작업이 끝났을 때 호출될 리스너를 추가한다. 이미 끝난 작업이라면 바로 호출된다.
+     * 여러 개를 추가할 수 있으며, 먼저 추가된 리스너를 대체하지 않는다.
+     */
+    public void addOnDoneListener(OnDoneListener onDoneListener) {
+        Registration registration = new Registration(onDoneListener);
+        registrations.add(registration);
+
+        // finish()가 목록을 읽은 뒤에 추가되었을 수 있으므로 직접 확인한다.
+        if (isDone())
+            registration.deliver(this);
+    }
+
+    private boolean finish(int newState) {
+        if (!state.compareAndSet(PENDING, newState))
+            return false;
+
+        if (newState == CANCELED || newState == TIMED_OUT) {
+            Future<?> future = this.future;
+            if (future != null)
+                future.cancel(true);
+        }
+
+        notifyDone();
+        return true;
+    }
+
+    private void notifyDone() {
+        for (Registration registration : registrations)
+            registration.deliver(this);
+    }
+
+    /**
+     * 리스너와, 그 리스너가 이미 호출되었는지의 여부.
+     */
+    private static final class Registration {
+        private final OnDoneListener listener;
+        private final AtomicBoolean notified = new AtomicBoolean(false);
+
+        Registration(OnDoneListener listener) {
+            this.listener = listener;
+        }
+
+        void deliver(ClickTask task) {
+            if (notified.compareAndSet(false, true))
+                listener.onDone(task);
+        }
+    }
+}
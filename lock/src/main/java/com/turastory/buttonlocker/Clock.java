@@ -0,0 +1,18 @@
+package com.turastory.buttonlocker;
+
+import android.os.SystemClock;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * 클릭 시간을 측정할 때 사용하는 시계. 테스트에서는 직접 시간을 조작하는 구현을 넣을 수 있다.
+ */
+public interface Clock {
+
+    /**
+     * 기본 시계. {@link SystemClock#uptimeMillis()}를 사용하므로 {@link android.os.Handler}의 시간 기준과 같다.
+     */
+    Clock UPTIME = SystemClock::uptimeMillis;
+
+    long now();
+}
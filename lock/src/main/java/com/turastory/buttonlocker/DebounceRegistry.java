@@ -0,0 +1,86 @@
+package com.turastory.buttonlocker;
+
+import com.turastory.buttonlocker.annotation.ThrottledClick;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * 여러 버튼이 하나의 클릭 시간을 공유하도록 해주는 레지스트리.
+ * 같은 그룹에 속한 버튼 중 하나가 눌리면, 그룹 전체가 일정 시간 동안 클릭을 받지 않는다.
+ * <p>
+ * 그룹 id는 0 이상 capacity 미만의 정수로, 그대로 배열의 인덱스로 사용된다.
+ * 클릭 시점의 검사는 배열 접근과 CAS 한 번으로 끝나므로 객체를 생성하지 않는다.
+ * 화면 단위로 그룹을 나누고 싶다면 화면마다 새 레지스트리를 만들고,
+ * 앱 전체에서 공유하려면 {@link #global()}을 사용한다.
+ */
+public final class DebounceRegistry {
+
+    // 어노테이션 프로세서가 그룹 id를 검사할 때도 같은 값을 사용한다.
+    public static final int DEFAULT_CAPACITY = ThrottledClick.MAX_GROUPS;
+
+    /**
+     * 아직 한 번도 클릭되지 않은 그룹의 클릭 시간.
+     */
+    private static final long NEVER = Long.MIN_VALUE;
+
+    private static final DebounceRegistry GLOBAL = new DebounceRegistry(DEFAULT_CAPACITY);
+
+    private final AtomicLongArray lastClickTimes;
+
+    public DebounceRegistry(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+
+        this.lastClickTimes = new AtomicLongArray(capacity);
+
+        for (int i = 0; i < capacity; i++)
+            lastClickTimes.set(i, NEVER);
+    }
+
+    public DebounceRegistry() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public static DebounceRegistry global() {
+        return GLOBAL;
+    }
+
+    public int capacity() {
+        return lastClickTimes.length();
+    }
+
+    /**
+     * 그룹의 마지막 클릭으로부터 minimumInterval보다 오래 지났다면 클릭 시간을 갱신하고 true를 반환한다.
+     * 경계는 {@link ClickRateLimiter#throttle(long)}과 같아서, 정확히 minimumInterval 뒤의 클릭은 막는다.
+     * 마지막 클릭보다 이른 timestamp는 시계가 거꾸로 간 것이므로 막는다.
+     *
+     * @param groupId         0 이상 {@link #capacity()} 미만의 그룹 id
+     * @param timestamp       현재 시간 (ms)
+     * @param minimumInterval 허용되는 클릭 간격 (ms)
+     */
+    public boolean tryAcquire(int groupId, long timestamp, long minimumInterval) {
+        while (true) {
+            long lastClickTime = lastClickTimes.get(groupId);
+
+            if (lastClickTime != NEVER && timestamp - lastClickTime <= minimumInterval)
+                return false;
+
+            if (lastClickTimes.compareAndSet(groupId, lastClickTime, timestamp))
+                return true;
+        }
+    }
+
+    /**
+     * 그룹의 클릭 시간을 초기화해서 바로 다음 클릭을 허용한다.
+     */
+    public void reset(int groupId) {
+        lastClickTimes.set(groupId, NEVER);
+    }
+
+    void checkGroupId(int groupId) {
+        if (groupId < 0 || groupId >= capacity())
+            throw new IllegalArgumentException("groupId must be in [0, " + capacity() + "): " + groupId);
+    }
+}
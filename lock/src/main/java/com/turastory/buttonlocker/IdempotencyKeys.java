@@ -0,0 +1,78 @@
+package com.turastory.buttonlocker;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * 클릭마다 발급되는 멱등성 키(idempotency key)와, 최근에 요청에 사용된 키를 기억하는 작은 LRU 캐시.
+ * <p>
+ * 요청을 보내기 직전에 {@link #tryUse(String)}를 호출하면,
+ * window 안에 같은 키로 이미 보낸 요청(재시도, 중복 전송)은 네트워크에 나가기 전에 걸러진다.
+ * 서버에도 같은 키를 헤더 등으로 함께 보내면 클라이언트가 막지 못한 중복도 서버에서 걸러낼 수 있다.
+ */
+public final class IdempotencyKeys {
+
+    public static final int DEFAULT_CAPACITY = 64;
+    public static final long DEFAULT_WINDOW_MS = 60_000;
+
+    private static final IdempotencyKeys GLOBAL = new IdempotencyKeys(DEFAULT_CAPACITY, DEFAULT_WINDOW_MS, Clock.UPTIME);
+
+    private final long windowMs;
+    private final Clock clock;
+    private final Map<String, Long> recentKeys;
+
+    public IdempotencyKeys(int capacity, long windowMs, Clock clock) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+
+        this.windowMs = windowMs;
+        this.clock = clock;
+        this.recentKeys = new LinkedHashMap<String, Long>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public static IdempotencyKeys global() {
+        return GLOBAL;
+    }
+
+    /**
+     * 새로운 멱등성 키를 만든다.
+     */
+    public static String newKey() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * 키로 요청을 보내도 되는지 확인하고, 보내도 된다면 사용한 키로 기록한다.
+     *
+     * @return window 안에 같은 키가 사용된 적이 없다면 true.
+     */
+    public synchronized boolean tryUse(String key) {
+        long now = clock.now();
+        Long usedAt = recentKeys.get(key);
+
+        if (usedAt != null && now - usedAt <= windowMs)
+            return false;
+
+        recentKeys.put(key, now);
+        return true;
+    }
+
+    /**
+     * 요청이 확실히 실패해서 같은 키로 바로 다시 보내야 할 때 호출한다.
+     */
+    public synchronized void forget(String key) {
+        recentKeys.remove(key);
+    }
+
+    public synchronized int size() {
+        return recentKeys.size();
+    }
+}
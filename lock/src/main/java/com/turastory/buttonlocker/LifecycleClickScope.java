@@ -0,0 +1,112 @@
+package com.turastory.buttonlocker;
+
+import android.arch.lifecycle.Lifecycle;
+import android.arch.lifecycle.LifecycleObserver;
+import android.arch.lifecycle.LifecycleOwner;
+import android.arch.lifecycle.OnLifecycleEvent;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * Activity/Fragment의 생명주기에 묶인 클릭 리스너 관리자.
+ * 등록된 리스너의 lock과 예약된 unlock은 ON_DESTROY에서 모두 정리된다.
+ * <p>
+ * 리스너와 예약된 unlock은 모두 WeakReference로 들고 있으므로,
+ * 메시지 큐에 남아있는 unlock 때문에 리스너(와 리스너가 참조하는 Activity)가 살아남지 않는다.
+ * UI 스레드에서만 사용해야 한다.
+ */
+public final class LifecycleClickScope implements LifecycleObserver {
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final List<WeakReference<OnClickListenerProxy>> listeners = new ArrayList<>();
+    private boolean destroyed;
+
+    private LifecycleClickScope() {
+
+    }
+
+    /**
+     * owner의 생명주기에 묶인 scope를 만든다. 이미 destroy된 owner라면 등록된 리스너를 바로 정리한다.
+     */
+    public static LifecycleClickScope of(LifecycleOwner owner) {
+        LifecycleClickScope scope = new LifecycleClickScope();
+
+        if (owner.getLifecycle().getCurrentState() == Lifecycle.State.DESTROYED)
+            scope.destroyed = true;
+        else
+            owner.getLifecycle().addObserver(scope);
+
+        return scope;
+    }
+
+    /**
+     * 리스너를 scope에 등록한다. scope가 끝나면 리스너의 lock이 풀리고 예약된 실행이 취소된다.
+     */
+    public <T extends OnClickListenerProxy> T register(T listener) {
+        if (destroyed) {
+            listener.release();
+            return listener;
+        }
+
+        listeners.add(new WeakReference<>(listener));
+        return listener;
+    }
+
+    /**
+     * delayMs 후에 토큰에 해당하는 클릭의 lock을 푼다.
+     * 그 전에 scope가 끝나거나 리스너가 GC되면 아무 일도 일어나지 않는다.
+     */
+    public void unlockDelayed(OnClickCallbackListener listener, long token, long delayMs) {
+        if (destroyed)
+            return;
+
+        handler.postAtTime(new DelayedUnlock(listener, token), this, SystemClock.uptimeMillis() + delayMs);
+    }
+
+    public boolean isDestroyed() {
+        return destroyed;
+    }
+
+    @OnLifecycleEvent(Lifecycle.Event.ON_DESTROY)
+    void onDestroy(LifecycleOwner owner) {
+        owner.getLifecycle().removeObserver(this);
+        destroy();
+    }
+
+    void destroy() {
+        destroyed = true;
+        handler.removeCallbacksAndMessages(this);
+
+        for (WeakReference<OnClickListenerProxy> reference : listeners) {
+            OnClickListenerProxy listener = reference.get();
+            if (listener != null)
+                listener.release();
+        }
+
+        listeners.clear();
+    }
+
+    private static class DelayedUnlock implements Runnable {
+        private final WeakReference<OnClickCallbackListener> listener;
+        private final long token;
+
+        DelayedUnlock(OnClickCallbackListener listener, long token) {
+            this.listener = new WeakReference<>(listener);
+            this.token = token;
+        }
+
+        @Override
+        public void run() {
+            OnClickCallbackListener target = listener.get();
+            if (target != null)
+                target.tryUnlock(token);
+        }
+    }
+}
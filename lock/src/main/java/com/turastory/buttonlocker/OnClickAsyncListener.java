@@ -0,0 +1,162 @@
+package com.turastory.buttonlocker;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.view.View;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * 클릭으로 시작한 비동기 작업이 끝나면 알아서 lock을 푸는 리스너.
+ * {@link #onClickAsync(View)}가 반환한 {@link ClickTask}가 성공, 실패, 취소되거나 시간이 초과되면 lock이 풀린다.
+ * <p>
+ * {@link OnClickCallbackListener}와 달리 unlock을 직접 호출할 필요가 없고,
+ * maxInFlight를 2 이상으로 주면 그 수만큼의 작업을 동시에 진행할 수 있다.
+ */
+public abstract class OnClickAsyncListener extends OnClickListenerProxy {
+
+    private final int maxInFlight;
+    private final long timeoutMs;
+    private final Handler handler;
+    private final AtomicInteger inFlight = new AtomicInteger(0);
+    private final Set<ClickTask> inFlightTasks = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    /**
+     * @param maxInFlight 동시에 진행할 수 있는 최대 작업 수
+     * @param timeoutMs   작업의 최대 진행 시간. 0이면 시간 제한이 없다.
+     */
+    public OnClickAsyncListener(int maxInFlight, long timeoutMs) {
+        if (maxInFlight <= 0)
+            throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+
+        this.maxInFlight = maxInFlight;
+        this.timeoutMs = timeoutMs;
+        this.handler = timeoutMs > 0 ? new Handler(Looper.getMainLooper()) : null;
+    }
+
+    public OnClickAsyncListener(long timeoutMs) {
+        this(1, timeoutMs);
+    }
+
+    public OnClickAsyncListener() {
+        this(1, 0);
+    }
+
+    @Override
+    public void onClick(View clickedView) {
+        if (!tryAcquire()) {
+            recordSuppressed();
+            return;
+        }
+
+        recordAccepted();
+        start(clickedView);
+    }
+
+    /**
+     * onClick을 거치지 않고 직접 호출해도, 빈 자리를 얻은 경우에만 작업을 시작한다.
+     */
+    @Override
+    public final void onClickProxy(View v) {
+        if (tryAcquire())
+            start(v);
+    }
+
+    /**
+     * 자리를 얻은 뒤에 호출한다. 작업이 끝나면 자리를 돌려준다.
+     */
+    private void start(View v) {
+        long acquiredAt = lockAcquiredAt();
+        ClickTask task;
+
+        try {
+            task = onClickAsync(v);
+        } catch (Throwable t) {
+            releaseSlot();
+            throw t;
+        }
+
+        // 작업을 시작하지 않았다면 바로 lock을 푼다.
+        if (task == null) {
+            releaseSlot();
+            return;
+        }
+
+        InFlightTask inFlightTask = new InFlightTask(task, acquiredAt);
+        inFlightTasks.add(task);
+
+        if (handler != null)
+            handler.postDelayed(inFlightTask, timeoutMs);
+
+        task.addOnDoneListener(inFlightTask);
+    }
+
+    /**
+     * 클릭으로 비동기 작업을 시작한다.
+     *
+     * @return 시작한 작업. 작업을 시작하지 않았다면 null.
+     */
+    protected abstract ClickTask onClickAsync(View v);
+
+    /**
+     * 진행 중인 작업을 모두 취소한다.
+     */
+    @Override
+    void release() {
+        for (ClickTask task : inFlightTasks)
+            task.cancel();
+    }
+
+    public int inFlightCount() {
+        return inFlight.get();
+    }
+
+    private boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+
+            if (current >= maxInFlight)
+                return false;
+
+            if (inFlight.compareAndSet(current, current + 1))
+                return true;
+        }
+    }
+
+    private void releaseSlot() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * 진행 중인 작업 하나의 시간 초과 타이머이자 완료 리스너.
+     */
+    private class InFlightTask implements Runnable, ClickTask.OnDoneListener {
+        private final ClickTask task;
+        private final long acquiredAt;
+
+        InFlightTask(ClickTask task, long acquiredAt) {
+            this.task = task;
+            this.acquiredAt = acquiredAt;
+        }
+
+        @Override
+        public void run() {
+            task.timeOut();
+        }
+
+        @Override
+        public void onDone(ClickTask task) {
+            if (handler != null)
+                handler.removeCallbacks(this);
+
+            inFlightTasks.remove(task);
+            recordLockReleased(acquiredAt);
+            releaseSlot();
+        }
+    }
+}
@@ -2,26 +2,110 @@ package com.turastory.buttonlocker;
 
 import android.view.View;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 /**
  * Created by soldi on 2018-03-08.
  * <p>
  * 실행과 동시에 lock이 걸리고, 원하는 시점에 직접 lock을 풀어줄 수 있는 리스너.
+ * <p>
+ * lock은 {@link ClickGate}로 관리되므로 다른 스레드에서 풀어도 안전하다.
+ * 늦게 도착한 완료 콜백이 새로운 클릭의 lock을 풀지 않도록 하려면
+ * {@link #onClickProxy(View)} 안에서 {@link #lockToken()}을 받아두고 {@link #tryUnlock(long)}을 사용한다.
+ * <p>
+ * 클릭으로 서버의 상태를 바꾸는 요청을 보낸다면 {@link #idempotencyKey()}를 요청에 함께 실어서,
+ * lock이 막지 못한 중복 요청을 {@link IdempotencyKeys}나 서버에서 걸러낼 수 있다.
  */
 
 public abstract class OnClickCallbackListener extends OnClickListenerProxy {
 
-    private boolean lock;
+    private final ClickGate gate = new ClickGate();
+    private volatile long lockedAt = NOT_RECORDED;
+    private final AtomicReference<ClickKey> clickKey = new AtomicReference<>();
 
     @Override
     public void onClick(View clickedView) {
-        if (lock) return;
+        long acquiredAt = lockAcquiredAt();
+
+        long token = gate.tryLock();
 
-        lock = true;
+        if (token == ClickGate.NO_TOKEN) {
+            recordSuppressed();
+            return;
+        }
 
+        lockedAt = acquiredAt;
+        recordAccepted();
         onClickProxy(clickedView);
     }
 
+    /**
+     * @return 현재 실행 중인 클릭의 토큰. lock이 걸려있지 않다면 {@link ClickGate#NO_TOKEN}.
+     */
+    protected long lockToken() {
+        return gate.currentToken();
+    }
+
+    /**
+     * 현재 실행 중인 클릭의 멱등성 키. 클릭마다 처음 요청될 때 한 번 만들어지므로, 키를 쓰지 않는 클릭은 비용이 없다.
+     * lock이 풀린 뒤에는 null을 반환하므로, {@link #onClickProxy(View)} 안에서 받아두고 사용한다.
+     */
+    protected String idempotencyKey() {
+        long token = gate.currentToken();
+
+        if (token == ClickGate.NO_TOKEN)
+            return null;
+
+        ClickKey minted = null;
+
+        while (true) {
+            ClickKey current = clickKey.get();
+
+            // 키가 이전 클릭의 것이라면 현재 클릭의 토큰과 다르다.
+            if (current != null && current.token == token)
+                return current.key;
+
+            if (minted == null)
+                minted = new ClickKey(token, IdempotencyKeys.newKey());
+
+            // 다른 스레드가 먼저 만들었다면 그 키를 사용한다.
+            if (clickKey.compareAndSet(current, minted))
+                return minted.key;
+        }
+    }
+
+    /**
+     * 토큰에 해당하는 클릭의 lock이 유지되고 있을 때만 lock을 푼다.
+     */
+    protected boolean tryUnlock(long token) {
+        if (!gate.tryUnlock(token))
+            return false;
+
+        recordLockReleased(lockedAt);
+        return true;
+    }
+
     protected void unlock() {
-        lock = false;
+        if (gate.unlock())
+            recordLockReleased(lockedAt);
+    }
+
+    @Override
+    void release() {
+        unlock();
+    }
+
+    public boolean isLocked() {
+        return gate.isLocked();
+    }
+
+    private static final class ClickKey {
+        final long token;
+        final String key;
+
+        ClickKey(long token, String key) {
+            this.token = token;
+            this.key = key;
+        }
     }
 }
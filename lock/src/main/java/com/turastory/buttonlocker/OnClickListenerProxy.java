@@ -7,14 +7,69 @@ import android.view.View;
  * <p>
  * OnClickListener를 감싸는 일종의 Proxy 리스너.
  * 선처리/후처리가 필요한 상황에 유용하다.
+ * <p>
+ * {@link #setMetrics(ClickMetrics)}로 실행/차단된 클릭 수와 lock 유지 시간을 기록할 수 있다.
+ * 하위 클래스는 클릭을 실행하거나 막을 때 record* 메서드를 호출한다.
  */
 
 public abstract class OnClickListenerProxy implements View.OnClickListener {
 
+    /**
+     * {@link #lockAcquiredAt()}가 시간을 기록하지 않았음을 나타낸다.
+     */
+    protected static final long NOT_RECORDED = Long.MIN_VALUE;
+
+    private volatile ClickMetrics metrics;
+
     @Override
     public void onClick(View v) {
+        recordAccepted();
         onClickProxy(v);
     }
 
     public abstract void onClickProxy(View v);
+
+    /**
+     * 화면이 사라질 때 {@link LifecycleClickScope}가 호출한다. 걸려있는 lock과 예약된 실행을 정리한다.
+     */
+    void release() {
+
+    }
+
+    public void setMetrics(ClickMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public ClickMetrics getMetrics() {
+        return metrics;
+    }
+
+    protected void recordAccepted() {
+        ClickMetrics metrics = this.metrics;
+        if (metrics != null)
+            metrics.recordAccepted();
+    }
+
+    protected void recordSuppressed() {
+        ClickMetrics metrics = this.metrics;
+        if (metrics != null)
+            metrics.recordSuppressed();
+    }
+
+    /**
+     * @return lock을 건 시점. 기록하지 않는다면 {@link #NOT_RECORDED}.
+     */
+    protected long lockAcquiredAt() {
+        ClickMetrics metrics = this.metrics;
+        return metrics != null ? metrics.now() : NOT_RECORDED;
+    }
+
+    /**
+     * @param acquiredAt {@link #lockAcquiredAt()}가 반환한 값
+     */
+    protected void recordLockReleased(long acquiredAt) {
+        ClickMetrics metrics = this.metrics;
+        if (metrics != null && acquiredAt != NOT_RECORDED)
+            metrics.recordHoldTime(metrics.now() - acquiredAt);
+    }
 }
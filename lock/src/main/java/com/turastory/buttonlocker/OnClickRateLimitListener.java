@@ -0,0 +1,81 @@
+package com.turastory.buttonlocker;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.view.View;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * {@link ClickRateLimiter}의 결정에 따라 클릭을 실행하는 리스너.
+ * trailing 실행은 메인 스레드의 Handler로 예약되며, 가장 마지막에 클릭된 View로 {@link #onClickProxy(View)}를 호출한다.
+ * <p>
+ * 검색어 입력처럼 마지막 입력만 처리하면 되는 경우에는 trailing debounce,
+ * 연타를 어느 정도 허용해야 하는 버튼에는 token bucket을 사용한다.
+ */
+public abstract class OnClickRateLimitListener extends OnClickListenerProxy {
+
+    private final ClickRateLimiter limiter;
+    private final Clock clock;
+    private final Handler handler;
+    private final Runnable trailingRunnable = this::onTrailingDeadline;
+
+    private View lastClickedView;
+
+    public OnClickRateLimitListener(ClickRateLimiter limiter, Clock clock, Handler handler) {
+        this.limiter = limiter;
+        this.clock = clock;
+        this.handler = handler;
+    }
+
+    public OnClickRateLimitListener(ClickRateLimiter limiter) {
+        this(limiter, Clock.UPTIME, new Handler(Looper.getMainLooper()));
+    }
+
+    @Override
+    public void onClick(View clickedView) {
+        lastClickedView = clickedView;
+
+        if (limiter.onClick(clock.now())) {
+            recordAccepted();
+            onClickProxy(clickedView);
+        } else {
+            recordSuppressed();
+        }
+
+        scheduleTrailing();
+    }
+
+    /**
+     * 예약된 trailing 실행을 취소한다. 화면이 사라질 때 호출한다.
+     */
+    public void cancel() {
+        handler.removeCallbacks(trailingRunnable);
+        limiter.reset();
+        lastClickedView = null;
+    }
+
+    @Override
+    void release() {
+        cancel();
+    }
+
+    private void onTrailingDeadline() {
+        if (limiter.onDeadline(clock.now())) {
+            View view = lastClickedView;
+            lastClickedView = null;
+            recordAccepted();
+            onClickProxy(view);
+        } else {
+            scheduleTrailing();
+        }
+    }
+
+    private void scheduleTrailing() {
+        handler.removeCallbacks(trailingRunnable);
+
+        long deadline = limiter.trailingDeadline();
+        if (deadline != ClickRateLimiter.NO_DEADLINE)
+            handler.postDelayed(trailingRunnable, Math.max(0, deadline - clock.now()));
+    }
+}
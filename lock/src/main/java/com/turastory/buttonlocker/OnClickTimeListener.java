@@ -1,25 +1,50 @@
 package com.turastory.buttonlocker;
 
-import android.os.SystemClock;
 import android.view.View;
 
 /**
  * Created by soldi on 2018-03-08.
  * <p>
  * 일정 시간 내에 연속으로 발생하는 클릭을 막아주는 리스너.
+ * <p>
+ * {@link DebounceRegistry}의 그룹을 지정하면, 같은 그룹에 속한 다른 버튼의 클릭도 함께 막는다.
  */
 
 public abstract class OnClickTimeListener extends OnClickListenerProxy {
 
     private final long minimumInterval;
-    private long lastClickTime;
+    private final DebounceRegistry registry;
+    private final int groupId;
+    private final ClickRateLimiter throttle;
+    private final Clock clock;
 
     /**
      * @param minimumIntervalInMs 허용되는 버튼 클릭 간격
+     * @param registry            클릭 시간을 공유할 레지스트리
+     * @param groupId             레지스트리 안에서 클릭 시간을 공유할 그룹 id
+     * @param clock               클릭 시간을 측정할 시계
      */
-    public OnClickTimeListener(long minimumIntervalInMs) {
+    public OnClickTimeListener(long minimumIntervalInMs, DebounceRegistry registry, int groupId, Clock clock) {
+        if (registry != null)
+            registry.checkGroupId(groupId);
+
         this.minimumInterval = minimumIntervalInMs;
-        this.lastClickTime = 0;
+        this.registry = registry;
+        this.groupId = groupId;
+        // 그룹으로 막을 때는 쓰이지 않으므로 만들지 않는다.
+        this.throttle = registry == null ? ClickRateLimiter.throttle(minimumIntervalInMs) : null;
+        this.clock = clock;
+    }
+
+    public OnClickTimeListener(long minimumIntervalInMs, DebounceRegistry registry, int groupId) {
+        this(minimumIntervalInMs, registry, groupId, Clock.UPTIME);
+    }
+
+    /**
+     * @param minimumIntervalInMs 허용되는 버튼 클릭 간격
+     */
+    public OnClickTimeListener(long minimumIntervalInMs) {
+        this(minimumIntervalInMs, null, 0);
     }
 
     public OnClickTimeListener() {
@@ -28,12 +53,17 @@ public abstract class OnClickTimeListener extends OnClickListenerProxy {
 
     @Override
     public void onClick(View clickedView) {
-        long currentTimestamp = SystemClock.uptimeMillis();
+        long currentTimestamp = clock.now();
+
+        boolean accepted = registry != null ?
+            registry.tryAcquire(groupId, currentTimestamp, minimumInterval) :
+            throttle.onClick(currentTimestamp);
 
-        if (Math.abs(currentTimestamp - lastClickTime) > minimumInterval) {
-            // 실제 클릭이 발생할 때만 클릭 시간을 업데이트한다.
-            lastClickTime = currentTimestamp;
+        if (accepted) {
+            recordAccepted();
             onClickProxy(clickedView);
+        } else {
+            recordSuppressed();
         }
     }
 }
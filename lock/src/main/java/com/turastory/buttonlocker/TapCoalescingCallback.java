@@ -0,0 +1,245 @@
+package com.turastory.buttonlocker;
+
+import android.annotation.TargetApi;
+import android.app.Activity;
+import android.app.Application;
+import android.os.Build;
+import android.os.Bundle;
+import android.view.ActionMode;
+import android.view.KeyEvent;
+import android.view.KeyboardShortcutGroup;
+import android.view.Menu;
+import android.view.MenuItem;
+import android.view.MotionEvent;
+import android.view.SearchEvent;
+import android.view.View;
+import android.view.ViewConfiguration;
+import android.view.Window;
+import android.view.WindowManager;
+import android.view.accessibility.AccessibilityEvent;
+
+import java.util.List;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * Window의 모든 터치 이벤트를 먼저 받아서, 짧은 시간 안에 같은 위치에서 반복된 탭을 막는 Window.Callback.
+ * 개별 리스너에 잠금을 걸지 않아도 화면 전체의 더블 탭이 걸러진다.
+ * <p>
+ * 중복된 탭의 ACTION_UP은 ACTION_CANCEL로 바꿔서 전달한다.
+ * View는 눌림 상태를 정상적으로 해제하지만 클릭은 발생하지 않는다.
+ */
+public class TapCoalescingCallback implements Window.Callback {
+
+    public static final long DEFAULT_WINDOW_MS = 500;
+    private static final int HISTORY_SIZE = 8;
+
+    private final Window.Callback delegate;
+    private final TapDeduplicator deduplicator;
+
+    public TapCoalescingCallback(Window.Callback delegate, TapDeduplicator deduplicator) {
+        this.delegate = delegate;
+        this.deduplicator = deduplicator;
+    }
+
+    /**
+     * activity의 Window에 중복 탭 필터를 설치한다.
+     */
+    public static TapCoalescingCallback install(Activity activity, long windowMs) {
+        Window window = activity.getWindow();
+        Window.Callback current = window.getCallback();
+
+        if (current instanceof TapCoalescingCallback)
+            return (TapCoalescingCallback) current;
+
+        float slop = ViewConfiguration.get(activity).getScaledDoubleTapSlop();
+        TapCoalescingCallback callback =
+            new TapCoalescingCallback(current, new TapDeduplicator(HISTORY_SIZE, windowMs, slop));
+        window.setCallback(callback);
+        return callback;
+    }
+
+    public static TapCoalescingCallback install(Activity activity) {
+        return install(activity, DEFAULT_WINDOW_MS);
+    }
+
+    /**
+     * 앞으로 생성되는 모든 Activity에 중복 탭 필터를 설치한다.
+     */
+    public static void installGlobally(Application application, long windowMs) {
+        application.registerActivityLifecycleCallbacks(new Application.ActivityLifecycleCallbacks() {
+            @Override
+            public void onActivityCreated(Activity activity, Bundle savedInstanceState) {
+                install(activity, windowMs);
+            }
+
+            @Override
+            public void onActivityStarted(Activity activity) {
+
+            }
+
+            @Override
+            public void onActivityResumed(Activity activity) {
+
+            }
+
+            @Override
+            public void onActivityPaused(Activity activity) {
+
+            }
+
+            @Override
+            public void onActivityStopped(Activity activity) {
+
+            }
+
+            @Override
+            public void onActivitySaveInstanceState(Activity activity, Bundle outState) {
+
+            }
+
+            @Override
+            public void onActivityDestroyed(Activity activity) {
+
+            }
+        });
+    }
+
+    @Override
+    public boolean dispatchTouchEvent(MotionEvent event) {
+        if (event.getActionMasked() == MotionEvent.ACTION_UP && event.getPointerCount() == 1
+            && deduplicator.onTap(event.getRawX(), event.getRawY(), event.getEventTime())) {
+            event.setAction(MotionEvent.ACTION_CANCEL);
+        }
+
+        return delegate.dispatchTouchEvent(event);
+    }
+
+    @Override
+    public void onWindowFocusChanged(boolean hasFocus) {
+        // 다른 창에 갔다가 돌아온 뒤의 탭은 중복으로 보지 않는다.
+        if (!hasFocus)
+            deduplicator.clear();
+
+        delegate.onWindowFocusChanged(hasFocus);
+    }
+
+    @Override
+    public boolean dispatchKeyEvent(KeyEvent event) {
+        return delegate.dispatchKeyEvent(event);
+    }
+
+    @Override
+    public boolean dispatchKeyShortcutEvent(KeyEvent event) {
+        return delegate.dispatchKeyShortcutEvent(event);
+    }
+
+    @Override
+    public boolean dispatchTrackballEvent(MotionEvent event) {
+        return delegate.dispatchTrackballEvent(event);
+    }
+
+    @Override
+    public boolean dispatchGenericMotionEvent(MotionEvent event) {
+        return delegate.dispatchGenericMotionEvent(event);
+    }
+
+    @Override
+    public boolean dispatchPopulateAccessibilityEvent(AccessibilityEvent event) {
+        return delegate.dispatchPopulateAccessibilityEvent(event);
+    }
+
+    @Override
+    public View onCreatePanelView(int featureId) {
+        return delegate.onCreatePanelView(featureId);
+    }
+
+    @Override
+    public boolean onCreatePanelMenu(int featureId, Menu menu) {
+        return delegate.onCreatePanelMenu(featureId, menu);
+    }
+
+    @Override
+    public boolean onPreparePanel(int featureId, View view, Menu menu) {
+        return delegate.onPreparePanel(featureId, view, menu);
+    }
+
+    @Override
+    public boolean onMenuOpened(int featureId, Menu menu) {
+        return delegate.onMenuOpened(featureId, menu);
+    }
+
+    @Override
+    public boolean onMenuItemSelected(int featureId, MenuItem item) {
+        return delegate.onMenuItemSelected(featureId, item);
+    }
+
+    @Override
+    public void onWindowAttributesChanged(WindowManager.LayoutParams attrs) {
+        delegate.onWindowAttributesChanged(attrs);
+    }
+
+    @Override
+    public void onContentChanged() {
+        delegate.onContentChanged();
+    }
+
+    @Override
+    public void onAttachedToWindow() {
+        delegate.onAttachedToWindow();
+    }
+
+    @Override
+    public void onDetachedFromWindow() {
+        delegate.onDetachedFromWindow();
+    }
+
+    @Override
+    public void onPanelClosed(int featureId, Menu menu) {
+        delegate.onPanelClosed(featureId, menu);
+    }
+
+    @Override
+    public boolean onSearchRequested() {
+        return delegate.onSearchRequested();
+    }
+
+    @TargetApi(Build.VERSION_CODES.M)
+    @Override
+    public boolean onSearchRequested(SearchEvent searchEvent) {
+        return delegate.onSearchRequested(searchEvent);
+    }
+
+    @Override
+    public ActionMode onWindowStartingActionMode(ActionMode.Callback callback) {
+        return delegate.onWindowStartingActionMode(callback);
+    }
+
+    @TargetApi(Build.VERSION_CODES.M)
+    @Override
+    public ActionMode onWindowStartingActionMode(ActionMode.Callback callback, int type) {
+        return delegate.onWindowStartingActionMode(callback, type);
+    }
+
+    @Override
+    public void onActionModeStarted(ActionMode mode) {
+        delegate.onActionModeStarted(mode);
+    }
+
+    @Override
+    public void onActionModeFinished(ActionMode mode) {
+        delegate.onActionModeFinished(mode);
+    }
+
+    @TargetApi(Build.VERSION_CODES.N)
+    @Override
+    public void onProvideKeyboardShortcuts(List<KeyboardShortcutGroup> data, Menu menu, int deviceId) {
+        delegate.onProvideKeyboardShortcuts(data, menu, deviceId);
+    }
+
+    @TargetApi(Build.VERSION_CODES.O)
+    @Override
+    public void onPointerCaptureChanged(boolean hasCapture) {
+        delegate.onPointerCaptureChanged(hasCapture);
+    }
+}
@@ -0,0 +1,71 @@
+package com.turastory.buttonlocker;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * 최근에 실행된 탭의 위치와 시간을 고정 크기 링 버퍼에 기록하고,
+ * 일정 시간 안에 비슷한 위치에서 다시 발생한 탭을 중복으로 판단한다.
+ * <p>
+ * 배열은 생성할 때 한 번만 만들고, 탭을 검사할 때는 객체를 만들지 않는다.
+ * 터치 이벤트와 같은 스레드(UI 스레드)에서만 사용해야 한다.
+ */
+public final class TapDeduplicator {
+
+    private final long windowMs;
+    private final float slopSquare;
+    private final long[] times;
+    private final float[] xs;
+    private final float[] ys;
+
+    private int next;
+    private int size;
+
+    /**
+     * @param capacity 기억할 최근 탭의 수
+     * @param windowMs 중복으로 판단할 시간 간격 (ms)
+     * @param slopPx   같은 위치로 판단할 거리 (px)
+     */
+    public TapDeduplicator(int capacity, long windowMs, float slopPx) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+
+        this.windowMs = windowMs;
+        this.slopSquare = slopPx * slopPx;
+        this.times = new long[capacity];
+        this.xs = new float[capacity];
+        this.ys = new float[capacity];
+    }
+
+    /**
+     * 탭이 중복인지 확인한다. 중복이 아니라면 최근 탭으로 기록한다.
+     *
+     * @param x         탭의 x 좌표 (px)
+     * @param y         탭의 y 좌표 (px)
+     * @param eventTime 탭이 발생한 시간 (ms)
+     * @return 중복된 탭이라면 true.
+     */
+    public boolean onTap(float x, float y, long eventTime) {
+        for (int i = 0; i < size; i++) {
+            if (eventTime - times[i] > windowMs)
+                continue;
+
+            float dx = x - xs[i];
+            float dy = y - ys[i];
+
+            if (dx * dx + dy * dy <= slopSquare)
+                return true;
+        }
+
+        times[next] = eventTime;
+        xs[next] = x;
+        ys[next] = y;
+        next = (next + 1) % times.length;
+        size = Math.min(size + 1, times.length);
+        return false;
+    }
+
+    public void clear() {
+        next = 0;
+        size = 0;
+    }
+}
@@ -0,0 +1,171 @@
+package com.turastory.buttonlocker;
+
+import android.view.View;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Created by tura on 2026-10-18.
+ */
+public class ClickGateTest {
+
+    private static final int THREADS = 16;
+    private static final int ROUNDS = 2000;
+
+    @Test
+    public void test_lockAndUnlock() {
+        ClickGate gate = new ClickGate();
+
+        long token = gate.tryLock();
+        assertThat(token, not(is(ClickGate.NO_TOKEN)));
+        assertThat(gate.isLocked(), is(true));
+        assertThat(gate.currentToken(), is(token));
+
+        // 이미 lock이 걸려있으면 실패한다.
+        assertThat(gate.tryLock(), is(ClickGate.NO_TOKEN));
+
+        assertThat(gate.tryUnlock(token), is(true));
+        assertThat(gate.isLocked(), is(false));
+        assertThat(gate.currentToken(), is(ClickGate.NO_TOKEN));
+    }
+
+    @Test
+    public void test_staleTokenCannotUnlockNewerClick() {
+        ClickGate gate = new ClickGate();
+
+        long first = gate.tryLock();
+        gate.unlock();
+
+        long second = gate.tryLock();
+        assertThat(second, not(is(first)));
+
+        // 첫 번째 클릭의 완료 콜백이 늦게 도착해도 두 번째 클릭의 lock은 유지된다.
+        assertThat(gate.tryUnlock(first), is(false));
+        assertThat(gate.isLocked(), is(true));
+
+        assertThat(gate.tryUnlock(second), is(true));
+        assertThat(gate.tryUnlock(second), is(false));
+    }
+
+    @Test
+    public void test_invalidTokenIsIgnored() {
+        ClickGate gate = new ClickGate();
+
+        assertThat(gate.tryUnlock(ClickGate.NO_TOKEN), is(false));
+        gate.tryLock();
+        assertThat(gate.tryUnlock(ClickGate.NO_TOKEN), is(false));
+        assertThat(gate.isLocked(), is(true));
+    }
+
+    @Test
+    public void test_onlyOneOfSimultaneousClicksIsAccepted() throws Exception {
+        for (int round = 0; round < 200; round++) {
+            ClickGate gate = new ClickGate();
+            AtomicInteger accepted = new AtomicInteger();
+
+            runConcurrently(() -> {
+                if (gate.tryLock() != ClickGate.NO_TOKEN)
+                    accepted.incrementAndGet();
+            });
+
+            assertThat(accepted.get(), is(1));
+        }
+    }
+
+    @Test
+    public void test_exactlyOnceExecutionUnderContention() throws Exception {
+        ClickGate gate = new ClickGate();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger overlapped = new AtomicInteger();
+        AtomicInteger executed = new AtomicInteger();
+        AtomicInteger staleUnlocks = new AtomicInteger();
+
+        runConcurrently(() -> {
+            long previous = ClickGate.NO_TOKEN;
+
+            for (int i = 0; i < ROUNDS; i++) {
+                long token = gate.tryLock();
+
+                if (token == ClickGate.NO_TOKEN) {
+                    // 다른 스레드의 클릭을 이전 클릭의 늦게 도착한 콜백이 풀어버리지 않는지 확인한다.
+                    if (previous != ClickGate.NO_TOKEN && gate.tryUnlock(previous))
+                        staleUnlocks.incrementAndGet();
+                    continue;
+                }
+
+                previous = token;
+
+                if (running.incrementAndGet() != 1)
+                    overlapped.incrementAndGet();
+
+                executed.incrementAndGet();
+                running.decrementAndGet();
+
+                if (!gate.tryUnlock(token))
+                    overlapped.incrementAndGet();
+            }
+        });
+
+        assertThat(overlapped.get(), is(0));
+        assertThat(staleUnlocks.get(), is(0));
+        assertThat(executed.get() > 0, is(true));
+        assertThat(gate.isLocked(), is(false));
+    }
+
+    @Test
+    public void test_listenerRunsOnceUntilUnlocked() throws Exception {
+        AtomicInteger clicks = new AtomicInteger();
+        OnClickCallbackListener listener = new OnClickCallbackListener() {
+            @Override
+            public void onClickProxy(View v) {
+                clicks.incrementAndGet();
+            }
+        };
+
+        runConcurrently(() -> {
+            for (int i = 0; i < ROUNDS; i++)
+                listener.onClick(null);
+        });
+
+        assertThat(clicks.get(), is(1));
+        assertThat(listener.isLocked(), is(true));
+
+        listener.unlock();
+        listener.onClick(null);
+        assertThat(clicks.get(), is(2));
+    }
+
+    private static void runConcurrently(Runnable task) throws Exception {
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        List<Throwable> errors = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            new Thread(() -> {
+                try {
+                    barrier.await();
+                    task.run();
+                } catch (Throwable e) {
+                    synchronized (errors) {
+                        errors.add(e);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+
+        done.await();
+        assertThat(errors.isEmpty(), is(true));
+    }
+}
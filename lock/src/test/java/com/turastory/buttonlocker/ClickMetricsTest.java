@@ -0,0 +1,84 @@
+package com.turastory.buttonlocker;
+
+import android.view.View;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Created by tura on 2026-10-18.
+ */
+public class ClickMetricsTest {
+
+    private long now = 1000;
+
+    @Test
+    public void test_callbackListenerCountsAndHoldTime() {
+        ClickMetrics metrics = new ClickMetrics(() -> now);
+        OnClickCallbackListener listener = new OnClickCallbackListener() {
+            @Override
+            public void onClickProxy(View v) {
+
+            }
+        };
+        listener.setMetrics(metrics);
+
+        listener.onClick(null);
+        listener.onClick(null);
+        listener.onClick(null);
+        now += 300;
+        listener.unlock();
+
+        listener.onClick(null);
+        now += 10;
+        listener.unlock();
+        // 이미 풀린 lock은 다시 기록하지 않는다.
+        listener.unlock();
+
+        ClickMetrics.Snapshot snapshot = metrics.snapshot();
+        assertThat(snapshot.getAccepted(), is(2L));
+        assertThat(snapshot.getSuppressed(), is(2L));
+        assertThat(snapshot.getHoldTimeCount(), is(2L));
+        assertThat(snapshot.getHoldTimeMax(), is(300L));
+        assertThat(snapshot.getHoldTimeMean(), is(155.0));
+        assertThat(snapshot.getHoldTimePercentile(50), is(15L));
+        assertThat(snapshot.getHoldTimePercentile(100), is(300L));
+    }
+
+    @Test
+    public void test_timeListenerCounts() {
+        ClickMetrics metrics = new ClickMetrics(() -> now);
+        OnClickTimeListener listener = new OnClickTimeListener(500, null, 0, () -> now) {
+            @Override
+            public void onClickProxy(View v) {
+
+            }
+        };
+        listener.setMetrics(metrics);
+
+        listener.onClick(null);
+        now += 100;
+        listener.onClick(null);
+        now += 500;
+        listener.onClick(null);
+
+        ClickMetrics.Snapshot snapshot = metrics.snapshot();
+        assertThat(snapshot.getAccepted(), is(2L));
+        assertThat(snapshot.getSuppressed(), is(1L));
+    }
+
+    @Test
+    public void test_reset() {
+        ClickMetrics metrics = new ClickMetrics(() -> now);
+        metrics.recordAccepted();
+        metrics.recordHoldTime(100);
+        metrics.reset();
+
+        ClickMetrics.Snapshot snapshot = metrics.snapshot();
+        assertThat(snapshot.getAccepted(), is(0L));
+        assertThat(snapshot.getHoldTimeCount(), is(0L));
+        assertThat(snapshot.getHoldTimePercentile(99), is(0L));
+    }
+}
@@ -0,0 +1,109 @@
+package com.turastory.buttonlocker;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Created by tura on 2026-10-18.
+ */
+public class ClickRateLimiterTest {
+
+    @Test
+    public void test_throttle() {
+        ClickRateLimiter limiter = ClickRateLimiter.throttle(500);
+
+        // 부팅 직후처럼 시간이 작은 값이어도 첫 클릭은 허용된다.
+        assertThat(limiter.onClick(10), is(true));
+        assertThat(limiter.onClick(400), is(false));
+        assertThat(limiter.onClick(510), is(false));
+        assertThat(limiter.onClick(511), is(true));
+        assertThat(limiter.trailingDeadline(), is(ClickRateLimiter.NO_DEADLINE));
+    }
+
+    @Test
+    public void test_throttleRejectsClickExactlyAtInterval() {
+        ClickRateLimiter limiter = ClickRateLimiter.throttle(500);
+
+        assertThat(limiter.onClick(10_000), is(true));
+        assertThat(limiter.onClick(10_500), is(false));
+        assertThat(limiter.onClick(10_501), is(true));
+    }
+
+    @Test
+    public void test_leadingDebounce() {
+        ClickRateLimiter limiter = ClickRateLimiter.debounce(300, true, false);
+
+        assertThat(limiter.onClick(1000), is(true));
+        // 클릭이 계속 이어지는 동안은 묶음이 끝나지 않는다.
+        assertThat(limiter.onClick(1200), is(false));
+        assertThat(limiter.onClick(1400), is(false));
+        assertThat(limiter.trailingDeadline(), is(ClickRateLimiter.NO_DEADLINE));
+        assertThat(limiter.onClick(1700), is(true));
+    }
+
+    @Test
+    public void test_trailingDebounce() {
+        ClickRateLimiter limiter = ClickRateLimiter.debounce(300, false, true);
+
+        assertThat(limiter.onClick(1000), is(false));
+        assertThat(limiter.trailingDeadline(), is(1300L));
+
+        assertThat(limiter.onClick(1200), is(false));
+        assertThat(limiter.trailingDeadline(), is(1500L));
+
+        // 처음 예약한 시간에 도착해도 deadline이 미뤄졌으므로 실행하지 않는다.
+        assertThat(limiter.onDeadline(1300), is(false));
+        assertThat(limiter.onDeadline(1500), is(true));
+        assertThat(limiter.trailingDeadline(), is(ClickRateLimiter.NO_DEADLINE));
+        assertThat(limiter.onDeadline(1600), is(false));
+    }
+
+    @Test
+    public void test_leadingAndTrailingDebounce() {
+        ClickRateLimiter limiter = ClickRateLimiter.debounce(300, true, true);
+
+        // 클릭이 한 번뿐이면 leading만 실행된다.
+        assertThat(limiter.onClick(1000), is(true));
+        assertThat(limiter.trailingDeadline(), is(ClickRateLimiter.NO_DEADLINE));
+
+        assertThat(limiter.onClick(2000), is(true));
+        assertThat(limiter.onClick(2100), is(false));
+        assertThat(limiter.onDeadline(2400), is(true));
+    }
+
+    @Test
+    public void test_tokenBucket() {
+        ClickRateLimiter limiter = ClickRateLimiter.tokenBucket(3, 100);
+
+        assertThat(limiter.onClick(1000), is(true));
+        assertThat(limiter.onClick(1000), is(true));
+        assertThat(limiter.onClick(1000), is(true));
+        assertThat(limiter.onClick(1000), is(false));
+
+        // 100ms마다 하나씩 채워진다.
+        assertThat(limiter.onClick(1100), is(true));
+        assertThat(limiter.onClick(1100), is(false));
+
+        // 오래 기다려도 capacity 이상 쌓이지 않는다.
+        assertThat(limiter.onClick(5000), is(true));
+        assertThat(limiter.onClick(5000), is(true));
+        assertThat(limiter.onClick(5000), is(true));
+        assertThat(limiter.onClick(5000), is(false));
+    }
+
+    @Test
+    public void test_reset() {
+        ClickRateLimiter limiter = ClickRateLimiter.debounce(300, false, true);
+
+        limiter.onClick(1000);
+        limiter.reset();
+        assertThat(limiter.trailingDeadline(), is(ClickRateLimiter.NO_DEADLINE));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_debounceRequiresEdge() {
+        ClickRateLimiter.debounce(300, false, false);
+    }
+}
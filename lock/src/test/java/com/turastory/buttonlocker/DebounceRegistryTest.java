@@ -0,0 +1,87 @@
+package com.turastory.buttonlocker;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Created by tura on 2026-10-18.
+ */
+public class DebounceRegistryTest {
+
+    private static final int NAVIGATION = 0;
+    private static final int SUBMIT = 1;
+
+    @Test
+    public void test_clickInGroupBlocksWholeGroup() {
+        DebounceRegistry registry = new DebounceRegistry(4);
+
+        assertThat(registry.tryAcquire(NAVIGATION, 10_000, 500), is(true));
+        // 같은 그룹의 다른 버튼이라도 간격 안에서는 막힌다.
+        assertThat(registry.tryAcquire(NAVIGATION, 10_300, 500), is(false));
+        assertThat(registry.tryAcquire(NAVIGATION, 10_501, 500), is(true));
+    }
+
+    @Test
+    public void test_groupsAreIndependent() {
+        DebounceRegistry registry = new DebounceRegistry(4);
+
+        assertThat(registry.tryAcquire(NAVIGATION, 10_000, 500), is(true));
+        assertThat(registry.tryAcquire(SUBMIT, 10_100, 500), is(true));
+        assertThat(registry.tryAcquire(SUBMIT, 10_200, 500), is(false));
+    }
+
+    @Test
+    public void test_resetAllowsNextClick() {
+        DebounceRegistry registry = new DebounceRegistry(4);
+
+        registry.tryAcquire(NAVIGATION, 10_000, 500);
+        registry.reset(NAVIGATION);
+        assertThat(registry.tryAcquire(NAVIGATION, 10_100, 500), is(true));
+    }
+
+    @Test
+    public void test_firstClickRightAfterBootIsAccepted() {
+        DebounceRegistry registry = new DebounceRegistry(4);
+
+        // uptime이 간격보다 작아도 첫 클릭은 허용된다.
+        assertThat(registry.tryAcquire(NAVIGATION, 100, 500), is(true));
+        assertThat(registry.tryAcquire(NAVIGATION, 200, 500), is(false));
+
+        registry.reset(NAVIGATION);
+        assertThat(registry.tryAcquire(NAVIGATION, 300, 500), is(true));
+    }
+
+    @Test
+    public void test_clickExactlyAtIntervalIsRejected() {
+        DebounceRegistry registry = new DebounceRegistry(4);
+
+        assertThat(registry.tryAcquire(NAVIGATION, 10_000, 500), is(true));
+        assertThat(registry.tryAcquire(NAVIGATION, 10_500, 500), is(false));
+        assertThat(registry.tryAcquire(NAVIGATION, 10_501, 500), is(true));
+    }
+
+    @Test
+    public void test_sameBoundaryAsThrottle() {
+        DebounceRegistry registry = new DebounceRegistry(4);
+        ClickRateLimiter throttle = ClickRateLimiter.throttle(500);
+
+        // 그룹을 쓰는지에 따라 같은 클릭의 결과가 달라지면 안 된다.
+        for (long timestamp : new long[]{10_000, 10_499, 10_500, 10_501, 11_001, 11_002})
+            assertThat(registry.tryAcquire(NAVIGATION, timestamp, 500), is(throttle.onClick(timestamp)));
+    }
+
+    @Test
+    public void test_clickBeforeLastClickIsRejected() {
+        DebounceRegistry registry = new DebounceRegistry(4);
+
+        assertThat(registry.tryAcquire(NAVIGATION, 10_000, 500), is(true));
+        assertThat(registry.tryAcquire(NAVIGATION, 9_000, 500), is(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_groupIdOutOfRange() {
+        new DebounceRegistry(4).checkGroupId(4);
+    }
+}
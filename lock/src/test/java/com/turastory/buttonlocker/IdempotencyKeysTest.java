@@ -0,0 +1,80 @@
+package com.turastory.buttonlocker;
+
+import android.view.View;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Created by tura on 2026-10-18.
+ */
+public class IdempotencyKeysTest {
+
+    private long now = 1000;
+
+    @Test
+    public void test_retryWithinWindowIsDeduplicated() {
+        IdempotencyKeys keys = new IdempotencyKeys(4, 500, () -> now);
+        String key = IdempotencyKeys.newKey();
+
+        assertThat(keys.tryUse(key), is(true));
+        now += 100;
+        assertThat(keys.tryUse(key), is(false));
+        now += 500;
+        assertThat(keys.tryUse(key), is(true));
+    }
+
+    @Test
+    public void test_forgetAllowsImmediateRetry() {
+        IdempotencyKeys keys = new IdempotencyKeys(4, 500, () -> now);
+        String key = IdempotencyKeys.newKey();
+
+        keys.tryUse(key);
+        keys.forget(key);
+        assertThat(keys.tryUse(key), is(true));
+    }
+
+    @Test
+    public void test_leastRecentlyUsedKeyIsEvicted() {
+        IdempotencyKeys keys = new IdempotencyKeys(2, 500, () -> now);
+
+        keys.tryUse("a");
+        keys.tryUse("b");
+        keys.tryUse("c");
+
+        assertThat(keys.size(), is(2));
+        assertThat(keys.tryUse("a"), is(true));
+        assertThat(keys.tryUse("c"), is(false));
+    }
+
+    @Test
+    public void test_listenerMintsKeyPerClick() {
+        List<String> keys = new ArrayList<>();
+        OnClickCallbackListener listener = new OnClickCallbackListener() {
+            @Override
+            public void onClickProxy(View v) {
+                keys.add(idempotencyKey());
+                keys.add(idempotencyKey());
+            }
+        };
+
+        listener.onClick(null);
+        listener.unlock();
+        listener.onClick(null);
+
+        assertThat(keys.get(0), notNullValue());
+        assertThat(keys.get(1), is(keys.get(0)));
+        assertThat(keys.get(2), not(is(keys.get(0))));
+
+        listener.unlock();
+        assertThat(listener.idempotencyKey(), nullValue());
+    }
+}
@@ -0,0 +1,218 @@
+package com.turastory.buttonlocker;
+
+import android.view.View;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Created by tura on 2026-10-18.
+ */
+public class OnClickAsyncListenerTest {
+
+    @Test
+    public void test_unlockOnCompletion() {
+        TaskListener listener = new TaskListener(1);
+
+        listener.onClick(null);
+        listener.onClick(null);
+        assertThat(listener.tasks.size(), is(1));
+        assertThat(listener.inFlightCount(), is(1));
+
+        listener.tasks.get(0).complete();
+        assertThat(listener.inFlightCount(), is(0));
+
+        listener.onClick(null);
+        assertThat(listener.tasks.size(), is(2));
+    }
+
+    @Test
+    public void test_unlockOnFailureAndCancel() {
+        TaskListener listener = new TaskListener(1);
+
+        listener.onClick(null);
+        listener.tasks.get(0).fail(new IllegalStateException());
+        assertThat(listener.inFlightCount(), is(0));
+
+        listener.onClick(null);
+        listener.tasks.get(1).cancel();
+        assertThat(listener.inFlightCount(), is(0));
+
+        // 이미 끝난 작업을 다시 끝내도 lock 수가 어긋나지 않는다.
+        assertThat(listener.tasks.get(1).complete(), is(false));
+        assertThat(listener.inFlightCount(), is(0));
+    }
+
+    @Test
+    public void test_maxInFlight() {
+        TaskListener listener = new TaskListener(3);
+
+        for (int i = 0; i < 10; i++)
+            listener.onClick(null);
+
+        assertThat(listener.tasks.size(), is(3));
+
+        listener.tasks.get(1).complete();
+        listener.onClick(null);
+        listener.onClick(null);
+        assertThat(listener.tasks.size(), is(4));
+    }
+
+    @Test
+    public void test_releaseCancelsInFlightTasks() {
+        TaskListener listener = new TaskListener(2);
+
+        listener.onClick(null);
+        listener.onClick(null);
+        listener.release();
+
+        assertThat(listener.tasks.get(0).getState(), is(ClickTask.CANCELED));
+        assertThat(listener.tasks.get(1).getState(), is(ClickTask.CANCELED));
+        assertThat(listener.inFlightCount(), is(0));
+    }
+
+    @Test
+    public void test_alreadyCompletedTaskReleasesImmediately() {
+        OnClickAsyncListener listener = new OnClickAsyncListener() {
+            @Override
+            protected ClickTask onClickAsync(View v) {
+                ClickTask task = new ClickTask();
+                task.complete();
+                return task;
+            }
+        };
+
+        listener.onClick(null);
+        assertThat(listener.inFlightCount(), is(0));
+    }
+
+    @Test
+    public void test_unlockWhenProxyThrows() {
+        OnClickAsyncListener listener = new OnClickAsyncListener() {
+            @Override
+            protected ClickTask onClickAsync(View v) {
+                throw new IllegalStateException();
+            }
+        };
+
+        try {
+            listener.onClick(null);
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        assertThat(listener.inFlightCount(), is(0));
+    }
+
+    @Test
+    public void test_proxyCalledDirectlyTakesItsOwnSlot() {
+        TaskListener listener = new TaskListener(1);
+
+        listener.onClickProxy(null);
+        listener.onClickProxy(null);
+        assertThat(listener.tasks.size(), is(1));
+        assertThat(listener.inFlightCount(), is(1));
+
+        listener.tasks.get(0).complete();
+        assertThat(listener.inFlightCount(), is(0));
+    }
+
+    @Test
+    public void test_callerListenerDoesNotReplaceUnlock() {
+        List<ClickTask> done = new ArrayList<>();
+        TaskListener listener = new TaskListener(1) {
+            @Override
+            protected ClickTask onClickAsync(View v) {
+                ClickTask task = super.onClickAsync(v);
+                task.addOnDoneListener(done::add);
+                return task;
+            }
+        };
+
+        listener.onClick(null);
+        ClickTask task = listener.tasks.get(0);
+        task.addOnDoneListener(done::add);
+        task.complete();
+
+        assertThat(done.size(), is(2));
+        assertThat(listener.inFlightCount(), is(0));
+    }
+
+    @Test
+    public void test_submittedTaskFailsOnError() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch done = new CountDownLatch(1);
+        AssertionError error = new AssertionError();
+
+        ClickTask task = ClickTask.submit(executor, () -> {
+            throw error;
+        });
+        task.addOnDoneListener(t -> done.countDown());
+
+        assertThat(done.await(1, TimeUnit.SECONDS), is(true));
+        assertThat(task.getState(), is(ClickTask.FAILED));
+        assertThat(task.getError(), is((Throwable) error));
+        executor.shutdown();
+    }
+
+    @Test
+    public void test_submittedTaskCompletesOnExecutor() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch done = new CountDownLatch(1);
+
+        ClickTask task = ClickTask.submit(executor, () -> {
+        });
+        task.addOnDoneListener(t -> done.countDown());
+
+        assertThat(done.await(1, TimeUnit.SECONDS), is(true));
+        assertThat(task.getState(), is(ClickTask.SUCCEEDED));
+        executor.shutdown();
+    }
+
+    @Test
+    public void test_cancelInterruptsSubmittedTask() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        ClickTask task = ClickTask.submit(executor, () -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+
+        started.await();
+        task.cancel();
+
+        assertThat(interrupted.await(1, TimeUnit.SECONDS), is(true));
+        assertThat(task.getState(), is(ClickTask.CANCELED));
+        executor.shutdown();
+    }
+
+    private static class TaskListener extends OnClickAsyncListener {
+        final List<ClickTask> tasks = new ArrayList<>();
+
+        TaskListener(int maxInFlight) {
+            super(maxInFlight, 0);
+        }
+
+        @Override
+        protected ClickTask onClickAsync(View v) {
+            ClickTask task = new ClickTask();
+            tasks.add(task);
+            return task;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.turastory.buttonlocker;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Created by tura on 2026-10-18.
+ */
+public class TapDeduplicatorTest {
+
+    @Test
+    public void test_repeatedTapAtSamePlaceIsDuplicate() {
+        TapDeduplicator deduplicator = new TapDeduplicator(4, 500, 20);
+
+        assertThat(deduplicator.onTap(100, 100, 1000), is(false));
+        assertThat(deduplicator.onTap(110, 105, 1200), is(true));
+        // 막힌 탭은 기록하지 않으므로, 처음 탭으로부터 시간이 지나면 다시 허용된다.
+        assertThat(deduplicator.onTap(100, 100, 1501), is(false));
+    }
+
+    @Test
+    public void test_tapAtOtherPlaceIsAllowed() {
+        TapDeduplicator deduplicator = new TapDeduplicator(4, 500, 20);
+
+        assertThat(deduplicator.onTap(100, 100, 1000), is(false));
+        assertThat(deduplicator.onTap(300, 100, 1100), is(false));
+        assertThat(deduplicator.onTap(305, 100, 1200), is(true));
+        assertThat(deduplicator.onTap(100, 100, 1300), is(true));
+    }
+
+    @Test
+    public void test_oldestTapIsOverwritten() {
+        TapDeduplicator deduplicator = new TapDeduplicator(2, 500, 20);
+
+        deduplicator.onTap(0, 0, 1000);
+        deduplicator.onTap(100, 0, 1000);
+        deduplicator.onTap(200, 0, 1000);
+
+        assertThat(deduplicator.onTap(0, 0, 1100), is(false));
+        assertThat(deduplicator.onTap(200, 0, 1100), is(true));
+    }
+
+    @Test
+    public void test_clear() {
+        TapDeduplicator deduplicator = new TapDeduplicator(4, 500, 20);
+
+        deduplicator.onTap(100, 100, 1000);
+        deduplicator.clear();
+        assertThat(deduplicator.onTap(100, 100, 1100), is(false));
+    }
+}
@@ -0,0 +1,125 @@
+package com.turastory.metrics;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * Lock-free latency histogram with fixed power-of-two ms buckets, so recording doesn't allocate.
+ * Bucket i covers [2^(i-1), 2^i) ms, and bucket 0 is 0 ms.
+ * <p>
+ * Shared by the lock hold times of the click listeners and the queue wait and service time of calls.
+ */
+public final class LatencyHistogram {
+
+    public static final int BUCKET_COUNT = 24;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long valueMs) {
+        long value = Math.max(0, valueMs);
+
+        buckets.incrementAndGet(bucketOf(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+
+        while (true) {
+            long current = max.get();
+            if (value <= current || max.compareAndSet(current, value))
+                break;
+        }
+    }
+
+    public Snapshot snapshot() {
+        long[] values = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++)
+            values[i] = buckets.get(i);
+
+        return new Snapshot(values, count.get(), sum.get(), max.get());
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++)
+            buckets.set(i, 0);
+        count.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+
+    public static int bucketOf(long valueMs) {
+        return Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(valueMs));
+    }
+
+    /**
+     * @return the largest value (ms) in the bucket. The last bucket has no bound, so Long.MAX_VALUE.
+     */
+    public static long bucketUpperBound(int bucket) {
+        return bucket == BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+
+    public static final class Snapshot {
+        private final long[] buckets;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        private Snapshot(long[] buckets, long count, long sum, long max) {
+            this.buckets = buckets;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        public long[] getBuckets() {
+            return Arrays.copyOf(buckets, buckets.length);
+        }
+
+        /**
+         * @param percentile 0 ~ 100
+         * @return the upper bound (ms) of the bucket holding the percentile, capped at the max.
+         */
+        public long getPercentile(double percentile) {
+            if (count == 0)
+                return 0;
+
+            long target = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+            long seen = 0;
+
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= target)
+                    return Math.min(bucketUpperBound(i), max);
+            }
+
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return "{count=" + count +
+                ", mean=" + String.format(Locale.US, "%.1f", getMean()) + "ms" +
+                ", p50=" + getPercentile(50) + "ms" +
+                ", p99=" + getPercentile(99) + "ms" +
+                ", max=" + max + "ms" +
+                '}';
+        }
+    }
+}
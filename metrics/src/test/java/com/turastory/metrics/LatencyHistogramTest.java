@@ -0,0 +1,59 @@
+package com.turastory.metrics;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Created by tura on 2026-10-18.
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void test_bucketOf() {
+        assertThat(LatencyHistogram.bucketOf(0), is(0));
+        assertThat(LatencyHistogram.bucketOf(1), is(1));
+        assertThat(LatencyHistogram.bucketOf(2), is(2));
+        assertThat(LatencyHistogram.bucketOf(3), is(2));
+        assertThat(LatencyHistogram.bucketOf(1000), is(10));
+        assertThat(LatencyHistogram.bucketOf(Long.MAX_VALUE), is(LatencyHistogram.BUCKET_COUNT - 1));
+    }
+
+    @Test
+    public void test_percentile() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        for (int i = 0; i < 99; i++)
+            histogram.record(10);
+        histogram.record(1000);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.getPercentile(50), is(15L));
+        assertThat(snapshot.getPercentile(100), is(1000L));
+        assertThat(snapshot.getMax(), is(1000L));
+        assertThat(snapshot.getBuckets()[4], is(99L));
+    }
+
+    @Test
+    public void test_negativeIsRecordedAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.getBuckets()[0], is(1L));
+        assertThat(snapshot.getMean(), is(0.0));
+    }
+
+    @Test
+    public void test_reset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(100);
+        histogram.reset();
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.getCount(), is(0L));
+        assertThat(snapshot.getMax(), is(0L));
+        assertThat(snapshot.getPercentile(99), is(0L));
+    }
+}
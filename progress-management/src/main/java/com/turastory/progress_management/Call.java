@@ -2,77 +2,304 @@ package com.turastory.progress_management;
 
 import android.util.Log;
 
-import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Created by soldi on 2018-03-08.
  * <p>
  * Represent a request call.
+ * Calls are tasks submitted to a {@link CallExecutor}, not threads of their own.
+ * <p>
+ * The simulated response arrives through the executor's scheduler after {@code time} ms,
+ * so no thread is parked while waiting. Cancelling cancels the pending response and
+ * interrupts the call if it is still running on a worker, and finish listeners are
+ * notified right away.
+ * <p>
+ * A failed attempt is retried according to the call's {@link RetryPolicy}.
+ * The call stays RUNNING while it waits to retry, and cancelling it cancels the retry.
  */
 
-public class Call extends Thread implements Cancellable {
+public class Call implements Runnable, Cancellable {
     
     public interface OnFinishListener {
-        void onFinish();
+        void onFinish(Call call);
     }
     
-    private boolean flag = false;
+    public static final int CREATED = 0;
+    public static final int RUNNING = 1;
+    public static final int SUCCEEDED = 2;
+    public static final int FAILED = 3;
+    public static final int CANCELED = 4;
+    
+    /**
+     * Pass as {@code failures} for a call whose every attempt fails.
+     */
+    public static final int ALWAYS_FAIL = Integer.MAX_VALUE;
+    
+    private static final int NOT_TRANSITIONED = -1;
+    
+    private static final AtomicInteger sequence = new AtomicInteger(0);
+    
+    private final AtomicInteger state = new AtomicInteger(CREATED);
+    private final List<OnFinishListener> onFinishListeners = new CopyOnWriteArrayList<>();
 
-    private WeakReference<MainActivity> mainActivityWeak;
-    private int time;
-    private boolean success;
+    private final String name;
+    private final String key;
+    private final int time;
+    private final int failures;
+    
+    private volatile RetryPolicy retryPolicy = RetryPolicy.NONE;
+    private volatile int attempts;
+    
+    private volatile long enqueuedAt = CallTracing.NOT_TRACED;
+    private volatile long startedAt = CallTracing.NOT_TRACED;
+    private final AtomicBoolean traceEventClaimed = new AtomicBoolean(false);
     
-    private OnFinishListener onFinishListener;
+    private volatile ScheduledExecutorService scheduler;
+    private volatile Future<?> future;
+    private volatile Future<?> response;
 
-    public Call(MainActivity mainActivity, int time, boolean success) {
-        this.mainActivityWeak = new WeakReference<>(mainActivity);
+    public Call(int time, boolean success) {
+        this(null, time, success);
+    }
+    
+    /**
+     * @param key identifies the request. Calls with the same key can share one execution,
+     *            see {@link SingleFlight}. null means the call is never shared.
+     */
+    public Call(String key, int time, boolean success) {
+        this(key, time, success ? 0 : ALWAYS_FAIL);
+    }
+    
+    /**
+     * @param failures how many attempts fail before one succeeds, to simulate a backend blip.
+     */
+    public Call(String key, int time, int failures) {
+        this.name = "Call-" + sequence.incrementAndGet();
+        this.key = key;
         this.time = time;
-        this.success = success;
+        this.failures = failures;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getKey() {
+        return key;
+    }
+    
+    /**
+     * Must be set before the call is executed.
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+    }
+    
+    public int getAttempts() {
+        return attempts;
+    }
+    
+    int getTime() {
+        return time;
+    }
+    
+    int getFailures() {
+        return failures;
+    }
+    
+    RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+    
+    /**
+     * @return when the call was first queued, or {@link CallTracing#NOT_TRACED}.
+     */
+    public long getEnqueuedAt() {
+        return enqueuedAt;
+    }
+    
+    /**
+     * @return when the call started, or {@link CallTracing#NOT_TRACED}.
+     */
+    public long getStartedAt() {
+        return startedAt;
+    }
+    
+    public int getState() {
+        return state.get();
+    }
+    
+    public boolean isFinished() {
+        return state.get() > RUNNING;
+    }
+    
+    /**
+     * Listeners are called once, on the thread that finished the call.
+     * If the call has already finished, the listener is called immediately.
+     */
+    public void addOnFinishListener(OnFinishListener onFinishListener) {
+        onFinishListeners.add(onFinishListener);
+        
+        if (isFinished() && onFinishListeners.remove(onFinishListener))
+            onFinishListener.onFinish(this);
+    }
+    
+    /**
+     * Records the first time the call is queued. Later calls are ignored.
+     */
+    void markEnqueued() {
+        if (enqueuedAt == CallTracing.NOT_TRACED)
+            enqueuedAt = CallTracing.enqueued(this);
     }
     
-    public void setOnFinishListener(OnFinishListener onFinishListener) {
-        this.onFinishListener = onFinishListener;
+    /**
+     * Claimed by whichever of the start and finish events reaches a {@link CallEventListener} first,
+     * so a listener can tell which side has to balance a gauge.
+     *
+     * @return true for the first caller only.
+     */
+    boolean claimTraceEvent() {
+        return traceEventClaimed.compareAndSet(false, true);
+    }
+    
+    void setStartedAt(long startedAt) {
+        this.startedAt = startedAt;
+    }
+    
+    void setScheduler(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+    
+    void setFuture(Future<?> future) {
+        this.future = future;
+        
+        // Cancelled between submit() and here.
+        if (isCanceled())
+            future.cancel(true);
     }
     
     @Override
     public void run() {
-        int count = 0;
-
-        while (!flag && count < this.time) {
-            count += 10;
-
-            try {
-                Thread.sleep(10);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
+        if (!state.compareAndSet(CREATED, RUNNING))
+            return;
+        
+        CallTracing.started(this);
+        scheduleResponse(time);
+    }
+    
+    private void scheduleResponse(long delayMs) {
+        Future<?> response = scheduler.schedule(this::respond, delayMs, TimeUnit.MILLISECONDS);
+        this.response = response;
+        
+        if (isCanceled())
+            response.cancel(false);
+    }
+    
+    // Runs on the scheduler thread, so attempts has a single writer.
+    private void respond() {
+        if (isFinished())
+            return;
+        
+        int attempts = ++this.attempts;
+        
+        if (attempts > failures) {
+            if (finish(SUCCEEDED))
+                Log.e("asdf", "Success");
+            return;
         }
-
-        Log.e("asdf", "Thread stop");
-        if (mainActivityWeak.get() != null)
-            mainActivityWeak.get().removeCall(this);
-
-        if (flag) {
-            Log.e("asdf", "Cancel");
-        } else if (success) {
-            Log.e("asdf", "Success");
-        } else {
+        
+        long delay = retryPolicy.nextDelay(attempts);
+        
+        if (delay == RetryPolicy.NO_RETRY) {
+            if (finish(FAILED))
+                Log.e("asdf", "Failure");
+            return;
+        }
+        
+        Log.e("asdf", "Retry " + name + " in " + delay + "ms");
+        scheduleResponse(delay + time);
+    }
+    
+    /**
+     * Finishes a call that was sent as part of a batch with the batch's result.
+     */
+    void completeWith(Call batch) {
+        int newState = batch.getState();
+        
+        if (newState > RUNNING)
+            finish(newState);
+    }
+    
+    /**
+     * Called by {@link CallExecutor} when the call couldn't be scheduled.
+     */
+    void reject() {
+        if (finish(FAILED))
             Log.e("asdf", "Failure");
+    }
+    
+    private boolean finish(int newState) {
+        int previous = transition(newState);
+        if (previous == NOT_TRANSITIONED)
+            return false;
+        
+        notifyFinished(previous);
+        return true;
+    }
+    
+    /**
+     * @return the state before the transition, or {@link #NOT_TRANSITIONED} if the call had already finished.
+     */
+    private int transition(int newState) {
+        while (true) {
+            int current = state.get();
+            
+            if (current > RUNNING)
+                return NOT_TRANSITIONED;
+            
+            if (state.compareAndSet(current, newState))
+                return current;
         }
+    }
+    
+    private void notifyFinished(int previous) {
+        CallTracing.finished(this, previous == RUNNING);
         
-        if (onFinishListener != null) {
-            onFinishListener.onFinish();
+        for (OnFinishListener listener : onFinishListeners) {
+            if (onFinishListeners.remove(listener))
+                listener.onFinish(this);
         }
     }
 
     @Override
     public void cancel() {
         Log.e("asdf", "Request cancel a call.");
-        flag = true;
+        
+        int previous = transition(CANCELED);
+        if (previous == NOT_TRANSITIONED)
+            return;
+        
+        Future<?> response = this.response;
+        if (response != null)
+            response.cancel(false);
+        
+        Future<?> future = this.future;
+        if (future != null)
+            future.cancel(true);
+        
+        Log.e("asdf", "Cancel");
+        notifyFinished(previous);
     }
 
     @Override
     public boolean isCanceled() {
-        return flag;
+        return state.get() == CANCELED;
     }
 }
@@ -0,0 +1,139 @@
+package com.turastory.progress_management;
+
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * Batching stage in front of a {@link CallHandler}.
+ * <p>
+ * Calls added here are collected for up to {@code maxItems} calls or {@code maxDelayMs} ms,
+ * whichever comes first, and then sent to the handler as one batch call.
+ * When the batch finishes, each original call finishes with the batch's result,
+ * so their finish listeners are called as usual.
+ * <p>
+ * Only the batch call is executed, so {@link ProgressTracker} counts the whole batch as one call.
+ * A call canceled while collected is left out of the batch, and a batch whose calls are all canceled
+ * is canceled too.
+ */
+public class CallBatcher {
+
+    private final Object lock = new Object();
+
+    private final CallHandler handler;
+    private final int maxItems;
+    private final long maxDelayMs;
+    private final ScheduledExecutorService scheduler;
+
+    // Guarded by lock.
+    private List<Call> pending = new ArrayList<>();
+    private Future<?> timer;
+
+    public CallBatcher(CallHandler handler, int maxItems, long maxDelayMs, ScheduledExecutorService scheduler) {
+        if (maxItems <= 0)
+            throw new IllegalArgumentException("maxItems must be positive: " + maxItems);
+
+        this.handler = handler;
+        this.maxItems = maxItems;
+        this.maxDelayMs = maxDelayMs;
+        this.scheduler = scheduler;
+    }
+
+    public void add(Call call) {
+        List<Call> full = null;
+
+        synchronized (lock) {
+            pending.add(call);
+
+            if (pending.size() >= maxItems) {
+                full = takePending();
+            } else if (timer == null) {
+                timer = scheduler.schedule(this::flush, maxDelayMs, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        // Enqueue outside the lock, the handler may start the batch right away.
+        if (full != null)
+            send(full);
+    }
+
+    /**
+     * Sends whatever has been collected now.
+     */
+    public void flush() {
+        List<Call> calls;
+
+        synchronized (lock) {
+            calls = takePending();
+        }
+
+        if (!calls.isEmpty())
+            send(calls);
+    }
+
+    private List<Call> takePending() {
+        List<Call> calls = pending;
+        pending = new ArrayList<>();
+
+        if (timer != null) {
+            timer.cancel(false);
+            timer = null;
+        }
+
+        return calls;
+    }
+
+    private void send(List<Call> collected) {
+        List<Call> calls = new ArrayList<>(collected.size());
+        for (Call call : collected) {
+            if (!call.isFinished())
+                calls.add(call);
+        }
+
+        if (calls.isEmpty())
+            return;
+
+        Call batch = createBatch(calls);
+        Log.e("asdf", "batch " + batch.getName() + " of " + calls.size() + " calls");
+
+        AtomicInteger remaining = new AtomicInteger(calls.size());
+
+        for (Call call : calls) {
+            call.addOnFinishListener(finished -> {
+                if (remaining.decrementAndGet() == 0)
+                    batch.cancel();
+            });
+        }
+
+        batch.addOnFinishListener(finished -> {
+            for (Call call : calls)
+                call.completeWith(finished);
+        });
+
+        handler.enqueue(batch);
+    }
+
+    /**
+     * The simulated batch takes as long as its slowest call and fails as often as its flakiest one.
+     */
+    private Call createBatch(List<Call> calls) {
+        int time = 0;
+        int failures = 0;
+
+        for (Call call : calls) {
+            time = Math.max(time, call.getTime());
+            failures = Math.max(failures, call.getFailures());
+        }
+
+        Call batch = new Call(null, time, failures);
+        batch.setRetryPolicy(calls.get(0).getRetryPolicy());
+        return batch;
+    }
+}
@@ -0,0 +1,25 @@
+package com.turastory.progress_management;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * Receives the timeline of every call, see {@link CallTracing#setListener(CallEventListener)}.
+ * Methods are called on whichever thread moved the call, so implementations must be thread-safe and fast.
+ */
+public interface CallEventListener {
+
+    /**
+     * The call was queued, in {@link CallHandler} or in the {@link CallExecutor} pool.
+     */
+    void onEnqueued(Call call, long time);
+
+    void onStarted(Call call, long time);
+
+    /**
+     * The call succeeded, failed or was canceled. See {@link Call#getState()}.
+     *
+     * @param started false if the call ended before it started,
+     *                e.g. it was canceled or dropped while queued.
+     */
+    void onFinished(Call call, boolean started, long time);
+}
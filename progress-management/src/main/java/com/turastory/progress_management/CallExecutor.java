@@ -0,0 +1,124 @@
+package com.turastory.progress_management;
+
+import android.util.Log;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * Dispatches calls on a bounded pool instead of a new thread per call.
+ * When the pool and its queue are full, the call is rejected and finishes as a failure.
+ * <p>
+ * The pool only bounds dispatch: a worker starts the call and schedules its response, then is free again.
+ * Responses, retries and finish listeners run on the single scheduler thread, so waiting calls don't hold
+ * a worker, and the pool size doesn't limit how many calls are in flight.
+ * Use {@link CallHandler} or {@link EndpointLimiter} to limit that.
+ */
+public class CallExecutor {
+
+    public static final int DEFAULT_THREADS = 4;
+    public static final int DEFAULT_QUEUE_CAPACITY = 64;
+
+    private static CallExecutor global;
+
+    private final ExecutorService executor;
+    private final ScheduledExecutorService scheduler;
+
+    public CallExecutor(ExecutorService executor, ScheduledExecutorService scheduler) {
+        this.executor = executor;
+        this.scheduler = scheduler;
+    }
+
+    public static synchronized CallExecutor global() {
+        if (global == null)
+            global = bounded(DEFAULT_THREADS, DEFAULT_QUEUE_CAPACITY);
+
+        return global;
+    }
+
+    public static synchronized void setGlobal(CallExecutor executor) {
+        global = executor;
+    }
+
+    /**
+     * Fixed number of threads, created on demand and released after 30 seconds of idleness.
+     */
+    public static CallExecutor bounded(int threads, int queueCapacity) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+            30, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(queueCapacity),
+            new CallThreadFactory());
+        executor.allowCoreThreadTimeOut(true);
+
+        return new CallExecutor(executor, createScheduler());
+    }
+
+    /**
+     * Uses a virtual-thread-per-task executor when the runtime has one (JDK 21+),
+     * otherwise falls back to {@link #bounded(int, int)}.
+     * Android runtimes don't have virtual threads, so this is mostly useful for JVM tests and tools.
+     */
+    public static CallExecutor lightweight(int fallbackThreads, int fallbackQueueCapacity) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return new CallExecutor((ExecutorService) factory.invoke(null), createScheduler());
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException | RuntimeException e) {
+            // Not ReflectiveOperationException, which is API 19 while minSdk is 16.
+            return bounded(fallbackThreads, fallbackQueueCapacity);
+        }
+    }
+
+    private static ScheduledExecutorService createScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "call-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * The single thread that delivers responses. Other delayed work can share it as long as it stays short.
+     */
+    public ScheduledExecutorService getScheduler() {
+        return scheduler;
+    }
+
+    public void execute(Call call) {
+        call.setScheduler(scheduler);
+        call.markEnqueued();
+
+        try {
+            call.setFuture(executor.submit(call));
+        } catch (RejectedExecutionException e) {
+            Log.e("asdf", "Rejected " + call.getName());
+            call.reject();
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+        scheduler.shutdownNow();
+    }
+
+    private static class CallThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger(0);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "call-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
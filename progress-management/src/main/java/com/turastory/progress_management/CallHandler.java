@@ -1,64 +1,140 @@
 package com.turastory.progress_management;
 
-import android.os.Handler;
-import android.os.Message;
 import android.util.Log;
 
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Created by tura on 2018-03-21.
- *
- * Handle sequential calls..
+ * <p>
+ * Handle queued calls, running at most {@code concurrency} of them at a time.
+ * <p>
+ * Calls with a lower priority value start first, and calls with the same priority start in order.
+ * A call whose deadline has passed before it starts is dropped (canceled) instead of being run.
+ * <p>
+ * The queue and the running count are lock-free. Whoever enqueues a call or finishes one
+ * starts the next calls while slots are free.
  */
 
-public class CallHandler extends Handler {
+public class CallHandler {
     
-    public static final int NEXT = 0;
+    public static final int PRIORITY_USER = 0;
+    public static final int PRIORITY_DEFAULT = 1;
+    public static final int PRIORITY_BACKGROUND = 2;
     
-    private final Object object = new Object();
-    private final MainActivity activity;
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
     
-    private BlockingQueue<Call> sequentialCalls = new LinkedBlockingQueue<>();
+    private final PriorityBlockingQueue<Entry> queue = new PriorityBlockingQueue<>();
+    private final AtomicInteger running = new AtomicInteger(0);
+    private final AtomicLong sequence = new AtomicLong(0);
     
-    public CallHandler(MainActivity activity) {
-        this.activity = activity;
+    private final SingleFlight singleFlight;
+    private final int concurrency;
+    private final Clock clock;
+    
+    public CallHandler(SingleFlight singleFlight, int concurrency, Clock clock) {
+        if (concurrency <= 0)
+            throw new IllegalArgumentException("concurrency must be positive: " + concurrency);
+        
+        this.singleFlight = singleFlight;
+        this.concurrency = concurrency;
+        this.clock = clock;
     }
     
     public void enqueue(Call call) {
-        synchronized (object) {
-            Log.e("asdf", "enqueue " + call.getName());
-            sequentialCalls.add(call);
+        enqueue(call, PRIORITY_DEFAULT, NO_DEADLINE);
+    }
+    
+    /**
+     * @param deadline uptime in ms by which the call must have started, or {@link #NO_DEADLINE}.
+     */
+    public void enqueue(Call call, int priority, long deadline) {
+        Log.e("asdf", "enqueue " + call.getName());
+        call.markEnqueued();
+        queue.add(new Entry(call, priority, deadline, sequence.getAndIncrement()));
+        drain();
+    }
+    
+    public int queuedCount() {
+        return queue.size();
+    }
+    
+    public int runningCount() {
+        return running.get();
+    }
+    
+    private void drain() {
+        while (!queue.isEmpty()) {
+            if (!acquireSlot())
+                return;
             
-            if (sequentialCalls.size() == 1) {
-                next();
+            Entry entry = queue.poll();
+            
+            if (entry == null) {
+                // Someone else took it. Give the slot back and check again.
+                running.decrementAndGet();
+                continue;
             }
+            
+            start(entry);
         }
     }
     
-    private void next() {
-        Message message = obtainMessage();
-        message.what = NEXT;
-        sendMessage(message);
+    private boolean acquireSlot() {
+        while (true) {
+            int current = running.get();
+            
+            if (current >= concurrency)
+                return false;
+            
+            if (running.compareAndSet(current, current + 1))
+                return true;
+        }
     }
     
-    @Override
-    public void handleMessage(Message msg) {
-        switch (msg.what) {
-            case NEXT:
-                startNextCall();
-                break;
+    private void start(Entry entry) {
+        Call call = entry.call;
+        
+        if (call.isFinished()) {
+            running.decrementAndGet();
+            return;
         }
+        
+        if (clock.now() > entry.deadline) {
+            Log.e("asdf", "Deadline passed, drop " + call.getName());
+            call.cancel();
+            running.decrementAndGet();
+            return;
+        }
+        
+        // Listen to the call that actually runs, which may be a shared one.
+        singleFlight.execute(call).addOnFinishListener(finished -> {
+            running.decrementAndGet();
+            drain();
+        });
     }
     
-    private void startNextCall() {
-        synchronized (object) {
-            if (sequentialCalls.size() > 0) {
-                Call call = sequentialCalls.remove();
-                call.setOnFinishListener(this::next);
-                activity.addCall(call);
-            }
+    private static class Entry implements Comparable<Entry> {
+        final Call call;
+        final int priority;
+        final long deadline;
+        final long sequence;
+        
+        Entry(Call call, int priority, long deadline, long sequence) {
+            this.call = call;
+            this.priority = priority;
+            this.deadline = deadline;
+            this.sequence = sequence;
+        }
+        
+        @Override
+        public int compareTo(Entry other) {
+            if (priority != other.priority)
+                return priority < other.priority ? -1 : 1;
+            
+            return sequence < other.sequence ? -1 : (sequence == other.sequence ? 0 : 1);
         }
     }
 }
@@ -0,0 +1,127 @@
+package com.turastory.progress_management;
+
+import com.turastory.metrics.LatencyHistogram;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * {@link CallEventListener} that keeps counters, the in-flight gauge, and histograms of
+ * queue wait (enqueued to started) and service time (started to finished, including retries).
+ * Read it on demand with {@link #snapshot()}.
+ */
+public final class CallMetrics implements CallEventListener {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong succeeded = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong canceled = new AtomicLong();
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+    private final LatencyHistogram serviceTime = new LatencyHistogram();
+
+    @Override
+    public void onEnqueued(Call call, long time) {
+    }
+
+    @Override
+    public void onStarted(Call call, long time) {
+        inFlight.incrementAndGet();
+
+        // Finished before this event arrived, and the finish didn't count it.
+        if (!call.claimTraceEvent())
+            inFlight.decrementAndGet();
+
+        long enqueuedAt = call.getEnqueuedAt();
+        if (enqueuedAt != CallTracing.NOT_TRACED)
+            queueWait.record(time - enqueuedAt);
+    }
+
+    @Override
+    public void onFinished(Call call, boolean started, long time) {
+        switch (call.getState()) {
+            case Call.SUCCEEDED:
+                succeeded.incrementAndGet();
+                break;
+            case Call.FAILED:
+                failed.incrementAndGet();
+                break;
+            case Call.CANCELED:
+                canceled.incrementAndGet();
+                break;
+        }
+
+        // If the start event hasn't been counted, because it is late or the call started before tracing did,
+        // onStarted balances the gauge itself or never counts it.
+        if (!started || call.claimTraceEvent())
+            return;
+
+        inFlight.decrementAndGet();
+        serviceTime.record(time - call.getStartedAt());
+    }
+
+    public int inFlightCount() {
+        return inFlight.get();
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(inFlight.get(), succeeded.get(), failed.get(), canceled.get(),
+            queueWait.snapshot(), serviceTime.snapshot());
+    }
+
+    public static final class Snapshot {
+        private final int inFlight;
+        private final long succeeded;
+        private final long failed;
+        private final long canceled;
+        private final LatencyHistogram.Snapshot queueWait;
+        private final LatencyHistogram.Snapshot serviceTime;
+
+        private Snapshot(int inFlight, long succeeded, long failed, long canceled,
+                         LatencyHistogram.Snapshot queueWait, LatencyHistogram.Snapshot serviceTime) {
+            this.inFlight = inFlight;
+            this.succeeded = succeeded;
+            this.failed = failed;
+            this.canceled = canceled;
+            this.queueWait = queueWait;
+            this.serviceTime = serviceTime;
+        }
+
+        public int getInFlight() {
+            return inFlight;
+        }
+
+        public long getSucceeded() {
+            return succeeded;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        public long getCanceled() {
+            return canceled;
+        }
+
+        public LatencyHistogram.Snapshot getQueueWait() {
+            return queueWait;
+        }
+
+        public LatencyHistogram.Snapshot getServiceTime() {
+            return serviceTime;
+        }
+
+        @Override
+        public String toString() {
+            return "CallMetrics{" +
+                "inFlight=" + inFlight +
+                ", succeeded=" + succeeded +
+                ", failed=" + failed +
+                ", canceled=" + canceled +
+                ", queueWait=" + queueWait +
+                ", serviceTime=" + serviceTime +
+                '}';
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.turastory.progress_management;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * Keeps calls by tag for the whole process, so they survive Activity recreation.
+ * <p>
+ * A recreated Activity looks up its tag with {@link #get(String)} instead of issuing the call again,
+ * and observes it between onStart and onStop. A result that arrives while nobody observes
+ * is kept and delivered to the next observer, once. After delivery the tag is free.
+ * <p>
+ * Observers are called on the delivery executor (the main thread by default).
+ * register/observe/removeObserver must be called on that thread too, so the observer never sees a stopped Activity.
+ */
+public class CallRegistry {
+
+    private static CallRegistry global;
+
+    private final ConcurrentMap<String, Call> calls = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CallScope> scopes = new ConcurrentHashMap<>();
+    private final Executor deliveryExecutor;
+
+    // Touched only on the delivery thread.
+    private final Map<String, Call.OnFinishListener> observers = new HashMap<>();
+
+    public CallRegistry(Executor deliveryExecutor) {
+        this.deliveryExecutor = deliveryExecutor;
+    }
+
+    public static synchronized CallRegistry global() {
+        if (global == null) {
+            Handler handler = new Handler(Looper.getMainLooper());
+            global = new CallRegistry(handler::post);
+        }
+
+        return global;
+    }
+
+    /**
+     * Keeps the call under the tag. A call already registered under the tag keeps running,
+     * but its result is no longer delivered.
+     */
+    public Call register(String tag, Call call) {
+        calls.put(tag, call);
+        call.addOnFinishListener(finished -> deliveryExecutor.execute(() -> tryDeliver(tag, finished)));
+        return call;
+    }
+
+    /**
+     * @return the call in flight or waiting for delivery under the tag, or null.
+     */
+    public Call get(String tag) {
+        return calls.get(tag);
+    }
+
+    /**
+     * @return the scope for the tag, which survives Activity recreation.
+     * A new scope is created once the previous one was canceled.
+     */
+    public CallScope scope(String tag) {
+        while (true) {
+            CallScope scope = scopes.get(tag);
+
+            if (scope != null && !scope.isCanceled())
+                return scope;
+
+            CallScope created = new CallScope();
+            boolean replaced = scope == null
+                ? scopes.putIfAbsent(tag, created) == null
+                : scopes.replace(tag, scope, created);
+
+            if (replaced)
+                return created;
+        }
+    }
+
+    public void observe(String tag, Call.OnFinishListener observer) {
+        observers.put(tag, observer);
+
+        Call call = calls.get(tag);
+        if (call != null)
+            tryDeliver(tag, call);
+    }
+
+    public void removeObserver(String tag, Call.OnFinishListener observer) {
+        if (observers.get(tag) == observer)
+            observers.remove(tag);
+    }
+
+    public int size() {
+        return calls.size();
+    }
+
+    private void tryDeliver(String tag, Call call) {
+        Call.OnFinishListener observer = observers.get(tag);
+
+        if (observer == null || !call.isFinished())
+            return;
+
+        // Removing first makes the delivery happen once, and skips calls replaced under the tag.
+        if (calls.remove(tag, call))
+            observer.onFinish(call);
+    }
+}
@@ -0,0 +1,109 @@
+package com.turastory.progress_management;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * Group of calls that are canceled together, e.g. everything started by a screen or a feature.
+ * <p>
+ * A call leaves the scope as soon as it finishes, so the scope only holds calls in flight
+ * and {@link #cancel()} is O(calls in flight). Calls added after the scope was canceled
+ * are canceled right away. Child scopes are canceled with their parent.
+ * <p>
+ * A child leaves its parent when it is canceled, or when it was {@link #close() closed} and its last call finished,
+ * so a long-lived parent doesn't keep every child it ever made.
+ */
+public class CallScope implements Cancellable {
+
+    private final Set<Cancellable> members =
+        Collections.newSetFromMap(new ConcurrentHashMap<Cancellable, Boolean>());
+    private final AtomicBoolean canceled = new AtomicBoolean(false);
+    private volatile boolean closed;
+    private final CallScope parent;
+
+    public CallScope() {
+        this(null);
+    }
+
+    private CallScope(CallScope parent) {
+        this.parent = parent;
+    }
+
+    public CallScope child() {
+        checkNotClosed();
+
+        CallScope child = new CallScope(this);
+        members.add(child);
+
+        if (canceled.get())
+            child.cancel();
+
+        return child;
+    }
+
+    public Call add(Call call) {
+        checkNotClosed();
+
+        members.add(call);
+        call.addOnFinishListener(this::remove);
+
+        // Checked after adding, so a concurrent cancel() either sees the call or is seen here.
+        if (canceled.get())
+            call.cancel();
+
+        return call;
+    }
+
+    public int size() {
+        return members.size();
+    }
+
+    /**
+     * Takes no more calls or children. Calls in flight keep running and can still be canceled,
+     * and the scope leaves its parent once they are done.
+     */
+    public void close() {
+        closed = true;
+
+        // Checked after closing, so either this or the last member to leave detaches the scope.
+        if (members.isEmpty())
+            detach();
+    }
+
+    private void remove(Cancellable member) {
+        members.remove(member);
+
+        if (closed && members.isEmpty())
+            detach();
+    }
+
+    private void detach() {
+        if (parent != null)
+            parent.remove(this);
+    }
+
+    private void checkNotClosed() {
+        if (closed)
+            throw new IllegalStateException("scope is closed");
+    }
+
+    @Override
+    public void cancel() {
+        if (!canceled.compareAndSet(false, true))
+            return;
+
+        for (Cancellable member : members)
+            member.cancel();
+
+        detach();
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return canceled.get();
+    }
+}
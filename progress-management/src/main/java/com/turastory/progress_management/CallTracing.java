@@ -0,0 +1,60 @@
+package com.turastory.progress_management;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * Holds the process-wide {@link CallEventListener}.
+ * Without a listener, tracing costs a volatile read per event: no clock read and no allocation.
+ */
+public final class CallTracing {
+
+    public static final long NOT_TRACED = Long.MIN_VALUE;
+
+    private static volatile CallEventListener listener;
+    private static volatile Clock clock = Clock.UPTIME;
+
+    private CallTracing() {
+    }
+
+    /**
+     * @param listener null to stop tracing.
+     */
+    public static void setListener(CallEventListener listener) {
+        CallTracing.listener = listener;
+    }
+
+    public static CallEventListener getListener() {
+        return listener;
+    }
+
+    public static void setClock(Clock clock) {
+        CallTracing.clock = clock;
+    }
+
+    static long enqueued(Call call) {
+        CallEventListener listener = CallTracing.listener;
+        if (listener == null)
+            return NOT_TRACED;
+
+        long now = clock.now();
+        listener.onEnqueued(call, now);
+        return now;
+    }
+
+    static void started(Call call) {
+        CallEventListener listener = CallTracing.listener;
+        if (listener == null)
+            return;
+
+        // Set before the event, so a finish racing with it knows the start was seen.
+        long now = clock.now();
+        call.setStartedAt(now);
+        listener.onStarted(call, now);
+    }
+
+    static void finished(Call call, boolean started) {
+        CallEventListener listener = CallTracing.listener;
+        if (listener != null)
+            listener.onFinished(call, started, clock.now());
+    }
+}
@@ -0,0 +1,18 @@
+package com.turastory.progress_management;
+
+import android.os.SystemClock;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * Time source for deadlines. Tests can pass a clock they control.
+ */
+public interface Clock {
+
+    /**
+     * Uses {@link SystemClock#uptimeMillis()}, the same time base as {@link android.os.Handler}.
+     */
+    Clock UPTIME = SystemClock::uptimeMillis;
+
+    long now();
+}
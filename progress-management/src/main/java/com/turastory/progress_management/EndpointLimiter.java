@@ -0,0 +1,203 @@
+package com.turastory.progress_management;
+
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * Limits parallel calls per endpoint, with a {@link TokenBucket} for the start rate
+ * and a {@link Semaphore} for how many run at once.
+ * <p>
+ * Calls over the limit wait in a FIFO queue per endpoint. They are tracked by {@link ProgressTracker}
+ * from the moment they are queued, so the progress view covers the wait.
+ * A call joined by {@link SingleFlight} finishes with the shared result, which ends its tracking.
+ * When the bucket is empty, the queue is drained again once the next token is due.
+ * <p>
+ * The calls to start are taken from a lane under its lock. The head of the queue is checked first, so a call
+ * canceled while queued is dropped without taking a permit or a token, and a token is only taken for the call
+ * that starts with it. The calls are started after the lock is released, by one thread at a time, and a call that
+ * finishes while being started makes that thread go around again instead of draining recursively.
+ */
+public class EndpointLimiter {
+
+    public static final Limits DEFAULT_LIMITS = new Limits(5, 200, 3);
+
+    /**
+     * Up to {@code burst} calls can start at once, then one more every {@code refillIntervalMs},
+     * and at most {@code maxConcurrent} run at the same time.
+     */
+    public static class Limits {
+        final int burst;
+        final long refillIntervalMs;
+        final int maxConcurrent;
+
+        public Limits(int burst, long refillIntervalMs, int maxConcurrent) {
+            if (burst <= 0 || refillIntervalMs <= 0 || maxConcurrent <= 0)
+                throw new IllegalArgumentException("Limits must be positive.");
+
+            this.burst = burst;
+            this.refillIntervalMs = refillIntervalMs;
+            this.maxConcurrent = maxConcurrent;
+        }
+    }
+
+    private static EndpointLimiter global;
+
+    private final ConcurrentMap<String, Limits> limits = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Lane> lanes = new ConcurrentHashMap<>();
+
+    private final SingleFlight singleFlight;
+    private final ProgressTracker tracker;
+    private final ScheduledExecutorService scheduler;
+    private final Clock clock;
+    private final Limits defaultLimits;
+
+    public EndpointLimiter(SingleFlight singleFlight, ProgressTracker tracker,
+                           ScheduledExecutorService scheduler, Clock clock, Limits defaultLimits) {
+        this.singleFlight = singleFlight;
+        this.tracker = tracker;
+        this.scheduler = scheduler;
+        this.clock = clock;
+        this.defaultLimits = defaultLimits;
+    }
+
+    public static synchronized EndpointLimiter global() {
+        if (global == null) {
+            global = new EndpointLimiter(SingleFlight.global(), ProgressTracker.global(),
+                CallExecutor.global().getScheduler(), Clock.UPTIME, DEFAULT_LIMITS);
+        }
+
+        return global;
+    }
+
+    /**
+     * Must be called before the first call to the endpoint.
+     */
+    public void setLimits(String endpoint, Limits limits) {
+        this.limits.put(endpoint, limits);
+    }
+
+    public void execute(String endpoint, Call call) {
+        tracker.track(call);
+        lane(endpoint).enqueue(call);
+    }
+
+    public int queuedCount(String endpoint) {
+        Lane lane = lanes.get(endpoint);
+        return lane == null ? 0 : lane.queue.size();
+    }
+
+    private Lane lane(String endpoint) {
+        Lane lane = lanes.get(endpoint);
+
+        if (lane == null) {
+            Limits laneLimits = limits.get(endpoint);
+            Lane created = new Lane(endpoint, laneLimits != null ? laneLimits : defaultLimits);
+            lane = lanes.putIfAbsent(endpoint, created);
+
+            if (lane == null)
+                lane = created;
+        }
+
+        return lane;
+    }
+
+    private class Lane {
+        final String endpoint;
+        final Queue<Call> queue = new ConcurrentLinkedQueue<>();
+        final TokenBucket bucket;
+        final Semaphore running;
+        final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+        final Runnable scheduledDrain = () -> {
+            drainScheduled.set(false);
+            drain();
+        };
+
+        // Drain requests not handled yet. Whoever raises it from 0 drains until it is back to 0.
+        final AtomicInteger drainRequests = new AtomicInteger(0);
+        // Only used by the draining thread.
+        final List<Call> starting = new ArrayList<>();
+
+        Lane(String endpoint, Limits limits) {
+            this.endpoint = endpoint;
+            this.bucket = new TokenBucket(limits.burst, limits.refillIntervalMs);
+            this.running = new Semaphore(limits.maxConcurrent);
+        }
+
+        void enqueue(Call call) {
+            call.markEnqueued();
+            queue.add(call);
+            drain();
+        }
+
+        void drain() {
+            if (drainRequests.getAndIncrement() != 0)
+                return;
+
+            int requests = 1;
+
+            do {
+                takeStartable(starting);
+
+                for (int i = 0; i < starting.size(); i++)
+                    start(starting.get(i));
+
+                starting.clear();
+
+                requests = drainRequests.addAndGet(-requests);
+            } while (requests != 0);
+        }
+
+        synchronized void takeStartable(List<Call> out) {
+            Call call;
+
+            while ((call = queue.peek()) != null) {
+                if (call.isFinished()) {
+                    queue.poll();
+                    continue;
+                }
+
+                if (!running.tryAcquire())
+                    return;
+
+                long wait = bucket.tryAcquire(clock.now());
+
+                if (wait > 0) {
+                    running.release();
+                    scheduleDrain(wait);
+                    return;
+                }
+
+                queue.poll();
+                out.add(call);
+            }
+        }
+
+        void start(Call call) {
+            // Tracked since it was queued.
+            singleFlight.executeTracked(call).addOnFinishListener(finished -> {
+                running.release();
+                drain();
+            });
+        }
+
+        void scheduleDrain(long delayMs) {
+            if (drainScheduled.compareAndSet(false, true)) {
+                Log.e("asdf", "Rate limited " + endpoint + ", retry in " + delayMs + "ms");
+                scheduler.schedule(scheduledDrain, delayMs, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+}
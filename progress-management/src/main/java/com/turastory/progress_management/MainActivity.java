@@ -7,16 +7,18 @@ import android.support.v7.app.AppCompatActivity;
 import android.util.Log;
 import android.widget.Button;
 
-import java.util.HashSet;
 import java.util.Random;
-import java.util.Set;
 
 import butterknife.BindView;
 import butterknife.ButterKnife;
 
 public class MainActivity extends AppCompatActivity {
+    
+    public static final String TAG_REQUEST = "main/request";
+    public static final String TAG_PENDING = "main/pending";
+    public static final String ENDPOINT_RANDOM = "random";
+    public static final String SCOPE_MAIN = "main";
 
-    private final Object lock = new Object();
     @BindView(R.id.button)
     Button requestButton;
     @BindView(R.id.cancel_button)
@@ -29,11 +31,25 @@ public class MainActivity extends AppCompatActivity {
     Button sequentialCallButton;
     @BindView(R.id.parallel_call_button)
     Button parallelCallButton;
+    @BindView(R.id.batch_call_button)
+    Button batchCallButton;
     
-    private Set<Call> calls = new HashSet<>();
     private Call call;
     private NetworkProgress progress;
     private CallHandler callHandler;
+    private CallBatcher callBatcher;
+    private CallScope scope;
+    
+    private static final CallMetrics metrics = new CallMetrics();
+    
+    private final Call.OnFinishListener onRequestFinish = finished -> {
+        Log.e("asdf", "Result of " + finished.getName() + ": " + finished.getState());
+        Log.e("asdf", metrics.snapshot().toString());
+    };
+    
+    // At most 10 retries every 10 seconds across all calls from this screen.
+    private final RetryPolicy retryPolicy = new RetryPolicy(3, 200, 2000,
+        new RetryBudget(10, 10_000, Clock.UPTIME));
     
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -41,11 +57,20 @@ public class MainActivity extends AppCompatActivity {
         setContentView(R.layout.activity_main);
         ButterKnife.bind(this);
 
-        callHandler = new CallHandler(this);
+        progress = new NetworkProgress(this);
+        CallTracing.setListener(metrics);
+        scope = CallRegistry.global().scope(SCOPE_MAIN);
+        
+        // Re-attach to a call that survived recreation instead of issuing it again.
+        call = CallRegistry.global().get(TAG_REQUEST);
+        if (call != null)
+            Log.e("asdf", "Re-attach to " + call.getName());
+        
+        callHandler = new CallHandler(SingleFlight.global(), 1, Clock.UPTIME);
+        callBatcher = new CallBatcher(callHandler, 10, 300, CallExecutor.global().getScheduler());
         
         requestButton.setOnClickListener(v -> {
-            call = createRandomCall();
-            addCall(call);
+            call = CallRegistry.global().register(TAG_REQUEST, addCall(inScope(createRandomCall())));
         });
 
         cancelButton.setOnClickListener(v -> {
@@ -55,57 +80,74 @@ public class MainActivity extends AppCompatActivity {
         });
 
         sparseButton.setOnClickListener(v -> {
-            new Handler().postDelayed(() -> addCall(createRandomCall()), 300);
-            new Handler().postDelayed(() -> addCall(createRandomCall()), 600);
-            new Handler().postDelayed(() -> addCall(createRandomCall()), 900);
-            new Handler().postDelayed(() -> addCall(createRandomCall()), 1200);
-            new Handler().postDelayed(() -> addCall(createRandomCall()), 1500);
+            new Handler().postDelayed(() -> addCall(inScope(createRandomCall())), 300);
+            new Handler().postDelayed(() -> addCall(inScope(createRandomCall())), 600);
+            new Handler().postDelayed(() -> addCall(inScope(createRandomCall())), 900);
+            new Handler().postDelayed(() -> addCall(inScope(createRandomCall())), 1200);
+            new Handler().postDelayed(() -> addCall(inScope(createRandomCall())), 1500);
         });
 
         pendingRequestButton.setOnClickListener(v -> {
-            new Handler().postDelayed(() -> addCall(createRandomCall()), 1500);
+            // Delivered to NewActivity, which observes TAG_PENDING.
+            new Handler().postDelayed(() ->
+                CallRegistry.global().register(TAG_PENDING, addCall(createRandomCall())), 1500);
             startActivity(new Intent(this, NewActivity.class));
             finish();
         });
         
         sequentialCallButton.setOnClickListener(v -> {
             for (int i = 0; i < 5; i++) {
-                runSequential(createRandomCall());
+                runSequential(inScope(createRandomCall()));
             }
         });
         parallelCallButton.setOnClickListener(v -> {
             for (int i = 0; i < 5; i++) {
-                runParallel(createRandomCall());
+                runParallel(inScope(createRandomCall()));
             }
         });
-        
-        new Thread(() -> {
-            try {
-                while (true) {
-                    printQueueSize();
-                    Thread.sleep(200);
-                }
-            } catch (InterruptedException e) {
-                e.printStackTrace();
+        batchCallButton.setOnClickListener(v -> {
+            for (int i = 0; i < 20; i++) {
+                callBatcher.add(inScope(new Call(200, true)));
             }
-        }).start();
+        });
+    }
+    
+    @Override
+    protected void onStart() {
+        super.onStart();
+        ProgressTracker.global().attach(progress);
+        CallRegistry.global().observe(TAG_REQUEST, onRequestFinish);
     }
     
     @Override
     protected void onStop() {
         super.onStop();
+        ProgressTracker.global().detach(progress);
+        CallRegistry.global().removeObserver(TAG_REQUEST, onRequestFinish);
         Log.e("asdf", "MainActivity is Stopped.");
     }
     
-    private void printQueueSize() {
-        Log.e("asdf", String.valueOf(calls.size()));
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        
+        // Leaving the screen cancels its calls, recreation keeps them.
+        if (isFinishing())
+            scope.cancel();
+    }
+    
+    private Call inScope(Call call) {
+        return scope.add(call);
     }
 
     private Call createRandomCall() {
         Random random = new Random();
-        int n = random.nextInt(2);
+        // 0 to 2 failures recover within 3 attempts, 3 failures don't.
+        int failures = random.nextInt(4);
 
-        return new Call(this, 1000, n == 0);
+        Call call = new Call("request-" + failures, 1000, failures);
+        call.setRetryPolicy(retryPolicy);
+        return call;
     }
     
     private void runSequential(Call call) {
@@ -113,29 +155,15 @@ public class MainActivity extends AppCompatActivity {
     }
     
     private void runParallel(Call call) {
-        addCall(call);
+        // Mashing the button queues calls instead of starting them all at once.
+        EndpointLimiter.global().execute(ENDPOINT_RANDOM, call);
     }
 
-    public void addCall(Call call) {
+    /**
+     * Returns the call that actually runs, which is an in-flight call with the same key if there is one.
+     */
+    public Call addCall(Call call) {
         Log.e("asdf", "execute " + call.getName());
-        call.start();
-        
-        synchronized (lock) {
-            calls.add(call);
-            
-            if (calls.size() == 1 && !isFinishing()) {
-                progress = new NetworkProgress(this);
-                progress.show();
-            }
-        }
-    }
-
-    public void removeCall(Call call) {
-        synchronized (lock) {
-            calls.remove(call);
-            
-            if (calls.size() == 0 && progress != null)
-                progress.dismiss();
-        }
+        return SingleFlight.global().execute(call);
     }
 }
@@ -9,9 +9,11 @@ import android.util.Log;
 
 /**
  * Created by soldi on 2018-03-08.
+ * <p>
+ * Create one per Activity and attach it to {@link ProgressTracker}.
  */
 
-public class NetworkProgress extends Dialog {
+public class NetworkProgress extends Dialog implements ProgressTracker.ProgressView {
     public NetworkProgress(@NonNull Context context) {
         super(context);
     }
@@ -3,6 +3,7 @@ package com.turastory.progress_management;
 import android.os.Bundle;
 import android.support.annotation.Nullable;
 import android.support.v7.app.AppCompatActivity;
+import android.util.Log;
 
 /**
  * Created by tura on 2018-03-21.
@@ -10,9 +11,30 @@ import android.support.v7.app.AppCompatActivity;
 
 public class NewActivity extends AppCompatActivity {
     
+    private NetworkProgress progress;
+    
+    private final Call.OnFinishListener onPendingFinish = finished ->
+        Log.e("asdf", "Pending result of " + finished.getName() + ": " + finished.getState());
+    
     @Override
     protected void onCreate(@Nullable Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_new);
+        
+        progress = new NetworkProgress(this);
+    }
+    
+    @Override
+    protected void onStart() {
+        super.onStart();
+        ProgressTracker.global().attach(progress);
+        CallRegistry.global().observe(MainActivity.TAG_PENDING, onPendingFinish);
+    }
+    
+    @Override
+    protected void onStop() {
+        super.onStop();
+        ProgressTracker.global().detach(progress);
+        CallRegistry.global().removeObserver(MainActivity.TAG_PENDING, onPendingFinish);
     }
 }
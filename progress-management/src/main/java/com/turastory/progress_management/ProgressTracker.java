@@ -0,0 +1,205 @@
+package com.turastory.progress_management;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * Shows one progress view while any call is in flight.
+ * <p>
+ * {@link #begin()} and {@link #end()} can be called from any thread and only touch an atomic counter.
+ * The main thread is involved only when the counter moves between 0 and 1.
+ * The view is shown after {@link #DEFAULT_SHOW_DELAY_MS} so short calls don't flash it,
+ * and once shown it stays for at least {@link #DEFAULT_MIN_DISPLAY_MS}.
+ * <p>
+ * Activities attach their view in onStart and detach it in onStop,
+ * so a burst of calls that outlives an Activity continues on the next one.
+ */
+public class ProgressTracker {
+
+    public static final long DEFAULT_SHOW_DELAY_MS = 200;
+    public static final long DEFAULT_MIN_DISPLAY_MS = 500;
+
+    public interface ProgressView {
+        void show();
+
+        void dismiss();
+    }
+
+    /**
+     * Runs everything on a single thread, normally the main thread.
+     */
+    public interface Scheduler {
+        long now();
+
+        void post(Runnable runnable);
+
+        void postDelayed(Runnable runnable, long delayMs);
+
+        void cancel(Runnable runnable);
+    }
+
+    private static ProgressTracker global;
+
+    private final AtomicInteger inFlight = new AtomicInteger(0);
+    private final Scheduler scheduler;
+    private final long showDelayMs;
+    private final long minDisplayMs;
+
+    private final Runnable update = this::update;
+    private final Runnable showRunnable = this::showNow;
+    private final Runnable hideRunnable = this::hideNow;
+
+    // Touched only on the scheduler thread.
+    private ProgressView view;
+    private boolean showPending;
+    private boolean shown;
+    private long shownAt;
+
+    public ProgressTracker(Scheduler scheduler, long showDelayMs, long minDisplayMs) {
+        this.scheduler = scheduler;
+        this.showDelayMs = showDelayMs;
+        this.minDisplayMs = minDisplayMs;
+    }
+
+    public static synchronized ProgressTracker global() {
+        if (global == null)
+            global = new ProgressTracker(new MainThreadScheduler(), DEFAULT_SHOW_DELAY_MS, DEFAULT_MIN_DISPLAY_MS);
+
+        return global;
+    }
+
+    public void begin() {
+        if (inFlight.getAndIncrement() == 0)
+            scheduler.post(update);
+    }
+
+    public void end() {
+        int previous;
+
+        do {
+            previous = inFlight.get();
+
+            if (previous == 0)
+                throw new IllegalStateException("end() called without begin()");
+        } while (!inFlight.compareAndSet(previous, previous - 1));
+
+        if (previous == 1)
+            scheduler.post(update);
+    }
+
+    /**
+     * Counts the call until it finishes, whichever way it finishes.
+     */
+    public void track(Call call) {
+        begin();
+        call.addOnFinishListener(finished -> end());
+    }
+
+    public int inFlightCount() {
+        return inFlight.get();
+    }
+
+    /**
+     * Must be called on the scheduler thread.
+     */
+    public void attach(ProgressView view) {
+        if (this.view != null && this.view != view)
+            detach(this.view);
+
+        this.view = view;
+
+        if (shown)
+            view.show();
+    }
+
+    /**
+     * Must be called on the scheduler thread.
+     */
+    public void detach(ProgressView view) {
+        if (this.view != view)
+            return;
+
+        if (shown)
+            view.dismiss();
+
+        this.view = null;
+    }
+
+    public boolean isShown() {
+        return shown;
+    }
+
+    private void update() {
+        if (inFlight.get() > 0) {
+            scheduler.cancel(hideRunnable);
+
+            if (!shown && !showPending) {
+                showPending = true;
+                scheduler.postDelayed(showRunnable, showDelayMs);
+            }
+        } else {
+            if (showPending) {
+                showPending = false;
+                scheduler.cancel(showRunnable);
+            }
+
+            if (shown) {
+                scheduler.cancel(hideRunnable);
+                long remaining = shownAt + minDisplayMs - scheduler.now();
+                scheduler.postDelayed(hideRunnable, Math.max(0, remaining));
+            }
+        }
+    }
+
+    private void showNow() {
+        showPending = false;
+
+        if (shown || inFlight.get() == 0)
+            return;
+
+        shown = true;
+        shownAt = scheduler.now();
+
+        if (view != null)
+            view.show();
+    }
+
+    private void hideNow() {
+        if (!shown || inFlight.get() > 0)
+            return;
+
+        shown = false;
+
+        if (view != null)
+            view.dismiss();
+    }
+
+    public static class MainThreadScheduler implements Scheduler {
+        private final Handler handler = new Handler(Looper.getMainLooper());
+
+        @Override
+        public long now() {
+            return SystemClock.uptimeMillis();
+        }
+
+        @Override
+        public void post(Runnable runnable) {
+            handler.post(runnable);
+        }
+
+        @Override
+        public void postDelayed(Runnable runnable, long delayMs) {
+            handler.postDelayed(runnable, delayMs);
+        }
+
+        @Override
+        public void cancel(Runnable runnable) {
+            handler.removeCallbacks(runnable);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.turastory.progress_management;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * Limits retries to {@code maxRetries} per {@code windowMs}, shared by every call that uses it,
+ * so a backend blip doesn't turn into a retry storm.
+ * <p>
+ * Implemented as GCRA: one atomic theoretical arrival time, no lock and no per-retry allocation.
+ * A full window's worth of retries can be spent at once, after which they come back at an even rate.
+ * <p>
+ * Time is counted in 1/maxRetries ms, so a retry costs exactly windowMs units and the window holds exactly
+ * maxRetries of them, even when windowMs isn't a multiple of maxRetries or is smaller than it.
+ */
+public class RetryBudget {
+
+    public static final RetryBudget UNLIMITED = new RetryBudget(1, 1, Clock.UPTIME) {
+        @Override
+        public boolean tryAcquire() {
+            return true;
+        }
+    };
+
+    private final AtomicLong theoreticalArrival;
+    private final int maxRetries;
+    private final long windowMs;
+    private final long origin;
+    private final Clock clock;
+
+    public RetryBudget(int maxRetries, long windowMs, Clock clock) {
+        if (maxRetries <= 0 || windowMs <= 0)
+            throw new IllegalArgumentException("maxRetries and windowMs must be positive.");
+
+        this.maxRetries = maxRetries;
+        this.windowMs = windowMs;
+        this.origin = clock.now();
+        this.clock = clock;
+        this.theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+    }
+
+    public boolean tryAcquire() {
+        // Relative to creation, so scaling the uptime doesn't overflow.
+        long now = (clock.now() - origin) * maxRetries;
+        long window = windowMs * maxRetries;
+
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + windowMs;
+
+            if (next - now > window)
+                return false;
+
+            if (theoreticalArrival.compareAndSet(current, next))
+                return true;
+        }
+    }
+}
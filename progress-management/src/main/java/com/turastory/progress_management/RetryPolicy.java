@@ -0,0 +1,67 @@
+package com.turastory.progress_management;
+
+import java.util.Random;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * Decides whether a failed attempt is retried, and after how long.
+ * <p>
+ * The delay uses exponential backoff with full jitter: a random value between 0 and
+ * {@code min(maxDelayMs, baseDelayMs * 2^(attempt - 1))}. Retries also need a permit from the
+ * {@link RetryBudget}, so many failing calls don't all retry at once.
+ * <p>
+ * A call that is waiting to retry hasn't finished, so {@link ProgressTracker} keeps counting it.
+ */
+public class RetryPolicy {
+
+    public static final long NO_RETRY = -1;
+
+    public static final RetryPolicy NONE = new RetryPolicy(1, 0, 0, RetryBudget.UNLIMITED);
+
+    private final int maxAttempts;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+    private final RetryBudget budget;
+    private final Random random;
+
+    public RetryPolicy(int maxAttempts, long baseDelayMs, long maxDelayMs, RetryBudget budget) {
+        this(maxAttempts, baseDelayMs, maxDelayMs, budget, new Random());
+    }
+
+    public RetryPolicy(int maxAttempts, long baseDelayMs, long maxDelayMs, RetryBudget budget, Random random) {
+        if (maxAttempts <= 0)
+            throw new IllegalArgumentException("maxAttempts must be positive: " + maxAttempts);
+
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMs = baseDelayMs;
+        this.maxDelayMs = maxDelayMs;
+        this.budget = budget;
+        this.random = random;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * @param attempt the number of attempts made so far, starting at 1.
+     * @return the delay before the next attempt, or {@link #NO_RETRY}.
+     */
+    public long nextDelay(int attempt) {
+        if (attempt >= maxAttempts || !budget.tryAcquire())
+            return NO_RETRY;
+
+        return (long) (random.nextDouble() * (backoffCeiling(attempt) + 1));
+    }
+
+    long backoffCeiling(int attempt) {
+        int shift = Math.min(attempt - 1, 62);
+        long ceiling = baseDelayMs << shift;
+
+        if (ceiling < 0 || (ceiling >> shift) != baseDelayMs)
+            return maxDelayMs;
+
+        return Math.min(maxDelayMs, ceiling);
+    }
+}
@@ -0,0 +1,92 @@
+package com.turastory.progress_management;
+
+import android.util.Log;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * Coalesces concurrent calls with the same key into one execution.
+ * <p>
+ * {@link #execute(Call)} returns the call that actually runs. It is the given call,
+ * or the one already in flight for the same key. Subscribers listen to the returned call,
+ * so they all see the same result. A joined call also finishes with the shared result,
+ * so its own listeners, trackers and scopes see it end. Cancelling the shared call cancels it for every subscriber.
+ * <p>
+ * Once the shared call finishes, the key is free again and the next call runs normally.
+ */
+public class SingleFlight {
+
+    private static SingleFlight global;
+
+    private final ConcurrentMap<String, Call> inFlight = new ConcurrentHashMap<>();
+    private final CallExecutor executor;
+    private final ProgressTracker tracker;
+
+    public SingleFlight(CallExecutor executor, ProgressTracker tracker) {
+        this.executor = executor;
+        this.tracker = tracker;
+    }
+
+    public static synchronized SingleFlight global() {
+        if (global == null)
+            global = new SingleFlight(CallExecutor.global(), ProgressTracker.global());
+
+        return global;
+    }
+
+    public Call execute(Call call) {
+        return execute(call, true);
+    }
+
+    /**
+     * Same as {@link #execute(Call)} for a call the caller already tracks, like {@link EndpointLimiter}
+     * does from the moment the call is queued. The call is not tracked a second time.
+     */
+    Call executeTracked(Call call) {
+        return execute(call, false);
+    }
+
+    private Call execute(Call call, boolean track) {
+        String key = call.getKey();
+
+        if (key == null) {
+            run(call, track);
+            return call;
+        }
+
+        while (true) {
+            Call existing = inFlight.putIfAbsent(key, call);
+
+            if (existing == null)
+                break;
+
+            if (!existing.isFinished()) {
+                Log.e("asdf", "join " + existing.getName() + " instead of " + call.getName());
+                existing.addOnFinishListener(call::completeWith);
+                return existing;
+            }
+
+            // Finished but its listener hasn't removed it yet.
+            inFlight.remove(key, existing);
+        }
+
+        call.addOnFinishListener(finished -> inFlight.remove(key, finished));
+        run(call, track);
+        return call;
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private void run(Call call, boolean track) {
+        // Track the call before running it, so an immediate finish is still counted.
+        if (track)
+            tracker.track(call);
+
+        executor.execute(call);
+    }
+}
@@ -0,0 +1,42 @@
+package com.turastory.progress_management;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * Token bucket holding up to {@code capacity} tokens, refilled with one token every {@code refillIntervalMs}.
+ * <p>
+ * Implemented as GCRA with one atomic theoretical arrival time, so taking a token is a single CAS.
+ */
+public class TokenBucket {
+
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+    private final long refillIntervalMs;
+    private final long tolerance;
+
+    public TokenBucket(int capacity, long refillIntervalMs) {
+        if (capacity <= 0 || refillIntervalMs <= 0)
+            throw new IllegalArgumentException("capacity and refillIntervalMs must be positive.");
+
+        this.refillIntervalMs = refillIntervalMs;
+        this.tolerance = capacity * refillIntervalMs;
+    }
+
+    /**
+     * @return 0 if a token was taken, otherwise how many ms until the next token.
+     */
+    public long tryAcquire(long now) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + refillIntervalMs;
+            long wait = next - now - tolerance;
+
+            if (wait > 0)
+                return wait;
+
+            if (theoreticalArrival.compareAndSet(current, next))
+                return 0;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.turastory.progress_management;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Created by tura on 2026-10-18.
+ */
+public class CallBatcherTest {
+
+    private VirtualTime time;
+    private ProgressTracker tracker;
+    private CallHandler handler;
+
+    @Before
+    public void setUp() {
+        time = new VirtualTime();
+        tracker = new ProgressTracker(time, 200, 500);
+        handler = new CallHandler(new SingleFlight(new CallExecutor(time, time), tracker), 4, time);
+    }
+
+    @Test
+    public void test_flushWhenFull() {
+        CallBatcher batcher = new CallBatcher(handler, 3, 10_000, time);
+        List<Call> calls = addCalls(batcher, 3, true);
+
+        assertThat(tracker.inFlightCount(), is(1));
+        time.runUntilIdle();
+
+        for (Call call : calls)
+            assertThat(call.getState(), is(Call.SUCCEEDED));
+    }
+
+    @Test
+    public void test_flushAfterDelay() {
+        CallBatcher batcher = new CallBatcher(handler, 10, 50, time);
+        List<Call> calls = addCalls(batcher, 2, false);
+
+        assertThat(tracker.inFlightCount(), is(0));
+        time.runUntilIdle();
+
+        for (Call call : calls)
+            assertThat(call.getState(), is(Call.FAILED));
+    }
+
+    @Test
+    public void test_splitsIntoBatches() {
+        CallBatcher batcher = new CallBatcher(handler, 4, 10_000, time);
+        List<Call> calls = addCalls(batcher, 10, true);
+
+        assertThat(tracker.inFlightCount(), is(2));
+
+        batcher.flush();
+        assertThat(tracker.inFlightCount(), is(3));
+
+        time.runUntilIdle();
+
+        for (Call call : calls)
+            assertThat(call.getState(), is(Call.SUCCEEDED));
+        assertThat(tracker.inFlightCount(), is(0));
+    }
+
+    @Test
+    public void test_canceledCallIsLeftOut() {
+        CallBatcher batcher = new CallBatcher(handler, 10, 10_000, time);
+        List<Call> calls = addCalls(batcher, 2, true);
+        calls.get(0).cancel();
+
+        batcher.flush();
+        time.runUntilIdle();
+
+        assertThat(calls.get(0).getState(), is(Call.CANCELED));
+        assertThat(calls.get(1).getState(), is(Call.SUCCEEDED));
+    }
+
+    @Test
+    public void test_batchCanceledWhenAllCallsCanceled() {
+        CallBatcher batcher = new CallBatcher(handler, 2, 10_000, time);
+        List<Call> calls = addCalls(batcher, 2, true);
+        assertThat(tracker.inFlightCount(), is(1));
+
+        for (Call call : calls)
+            call.cancel();
+
+        assertThat(tracker.inFlightCount(), is(0));
+    }
+
+    private List<Call> addCalls(CallBatcher batcher, int count, boolean success) {
+        List<Call> calls = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            Call call = new Call(20, success);
+            calls.add(call);
+            batcher.add(call);
+        }
+
+        return calls;
+    }
+}
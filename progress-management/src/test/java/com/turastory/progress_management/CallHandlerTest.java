@@ -0,0 +1,112 @@
+package com.turastory.progress_management;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Created by tura on 2026-10-18.
+ */
+public class CallHandlerTest {
+
+    private VirtualTime time;
+    private SingleFlight singleFlight;
+
+    @Before
+    public void setUp() {
+        time = new VirtualTime();
+        singleFlight = new SingleFlight(new CallExecutor(time, time), new ProgressTracker(time, 200, 500));
+    }
+
+    @Test
+    public void test_higherPriorityJumpsAhead() {
+        CallHandler handler = new CallHandler(singleFlight, 1, time);
+        List<String> order = new ArrayList<>();
+
+        Call blocker = new Call(100, true);
+        Call background1 = new Call(10, true);
+        Call background2 = new Call(10, true);
+        Call user = new Call(10, true);
+
+        for (Call call : new Call[]{blocker, background1, background2, user})
+            call.addOnFinishListener(c -> order.add(c.getName()));
+
+        handler.enqueue(blocker);
+        handler.enqueue(background1, CallHandler.PRIORITY_BACKGROUND, CallHandler.NO_DEADLINE);
+        handler.enqueue(background2, CallHandler.PRIORITY_BACKGROUND, CallHandler.NO_DEADLINE);
+        handler.enqueue(user, CallHandler.PRIORITY_USER, CallHandler.NO_DEADLINE);
+
+        time.runUntilIdle();
+
+        assertThat(order.size(), is(4));
+        assertThat(order.get(0), is(blocker.getName()));
+        assertThat(order.get(1), is(user.getName()));
+        assertThat(order.get(2), is(background1.getName()));
+        assertThat(order.get(3), is(background2.getName()));
+    }
+
+    @Test
+    public void test_expiredCallIsDropped() {
+        CallHandler handler = new CallHandler(singleFlight, 1, time);
+        Call blocker = new Call(50, true);
+        Call expiring = new Call(10, true);
+
+        handler.enqueue(blocker);
+        handler.enqueue(expiring, CallHandler.PRIORITY_DEFAULT, time.now() + 10);
+
+        time.runUntilIdle();
+
+        assertThat(blocker.getState(), is(Call.SUCCEEDED));
+        assertThat(expiring.getState(), is(Call.CANCELED));
+    }
+
+    @Test
+    public void test_runsAtMostConcurrency() {
+        int concurrency = 3;
+        CallHandler handler = new CallHandler(singleFlight, concurrency, time);
+        int[] maxRunning = new int[1];
+
+        for (int i = 0; i < 12; i++) {
+            Call call = new Call(20, true);
+            call.addOnFinishListener(c -> maxRunning[0] = Math.max(maxRunning[0], handler.runningCount()));
+            handler.enqueue(call);
+            maxRunning[0] = Math.max(maxRunning[0], handler.runningCount());
+        }
+
+        time.runUntilIdle();
+
+        assertThat(maxRunning[0], is(concurrency));
+        assertThat(handler.queuedCount(), is(0));
+        // Four rounds of three calls.
+        assertThat(time.now(), is(80L));
+    }
+
+    @Test
+    public void test_canceledWhileQueuedIsSkipped() {
+        CallHandler handler = new CallHandler(singleFlight, 1, time);
+        Call blocker = new Call(50, true);
+        Call canceled = new Call(10, true);
+        Call next = new Call(10, true);
+
+        handler.enqueue(blocker);
+        handler.enqueue(canceled);
+        handler.enqueue(next);
+        canceled.cancel();
+
+        time.runUntilIdle();
+
+        assertThat(canceled.getState(), is(Call.CANCELED));
+        assertThat(next.getState(), is(Call.SUCCEEDED));
+        assertThat(handler.queuedCount(), is(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_concurrencyMustBePositive() {
+        new CallHandler(singleFlight, 0, time);
+    }
+}
@@ -0,0 +1,75 @@
+package com.turastory.progress_management;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * Pushes thousands of calls through {@link CallHandler} on {@link VirtualTime}.
+ * <p>
+ * The task count is exact, so a change that schedules more per call fails here.
+ * Wall time is not asserted, since it depends on the machine running the tests.
+ */
+public class CallLoadTest {
+
+    private static final int CALLS = 20_000;
+    private static final int CONCURRENCY = 8;
+    private static final int CALL_TIME = 50;
+
+    @Test
+    public void test_thousandsOfCallsThroughHandler() {
+        Result result = run(CALLS);
+
+        assertThat(result.succeeded, is(CALLS));
+        assertThat(result.virtualMillis, is((long) CALLS / CONCURRENCY * CALL_TIME));
+        // One task to start each call and one to respond, plus the progress going busy, shown, idle and hidden.
+        assertThat(result.tasks, is(2L * CALLS + 4));
+    }
+
+    private Result run(int calls) {
+        VirtualTime time = new VirtualTime();
+        CallMetrics metrics = new CallMetrics();
+        ProgressTracker tracker = new ProgressTracker(time, 200, 500);
+        CallHandler handler = new CallHandler(new SingleFlight(new CallExecutor(time, time), tracker), CONCURRENCY, time);
+        AtomicInteger succeeded = new AtomicInteger();
+
+        CallTracing.setClock(time);
+        CallTracing.setListener(metrics);
+
+        try {
+            for (int i = 0; i < calls; i++) {
+                Call call = new Call(CALL_TIME, true);
+                call.addOnFinishListener(c -> {
+                    if (c.getState() == Call.SUCCEEDED)
+                        succeeded.incrementAndGet();
+                });
+                handler.enqueue(call, i % 3, CallHandler.NO_DEADLINE);
+            }
+
+            time.runUntilIdle();
+        } finally {
+            CallTracing.setListener(null);
+            CallTracing.setClock(Clock.UPTIME);
+        }
+
+        Result result = new Result();
+        result.virtualMillis = time.now();
+        result.tasks = time.executedCount();
+        result.succeeded = succeeded.get();
+
+        assertThat(metrics.snapshot().getInFlight(), is(0));
+        assertThat(tracker.inFlightCount(), is(0));
+        return result;
+    }
+
+    private static class Result {
+        long virtualMillis;
+        long tasks;
+        int succeeded;
+    }
+}
@@ -0,0 +1,130 @@
+package com.turastory.progress_management;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by tura on 2026-10-18.
+ */
+public class CallMetricsTest {
+
+    private CallExecutor executor;
+    private CallMetrics metrics;
+
+    @Before
+    public void setUp() {
+        executor = CallExecutor.bounded(1, 8);
+        metrics = new CallMetrics();
+        CallTracing.setClock(() -> System.nanoTime() / 1_000_000L);
+        CallTracing.setListener(metrics);
+    }
+
+    @After
+    public void tearDown() {
+        CallTracing.setListener(null);
+        CallTracing.setClock(Clock.UPTIME);
+        executor.shutdown();
+    }
+
+    @Test
+    public void test_recordsQueueWaitAndServiceTime() throws Exception {
+        Call first = new Call(50, true);
+        Call second = new Call(50, false);
+        CountDownLatch finished = new CountDownLatch(2);
+        first.addOnFinishListener(c -> finished.countDown());
+        second.addOnFinishListener(c -> finished.countDown());
+
+        executor.execute(first);
+        executor.execute(second);
+
+        assertTrue(finished.await(1, TimeUnit.SECONDS));
+
+        CallMetrics.Snapshot snapshot = metrics.snapshot();
+        assertThat(snapshot.getSucceeded(), is(1L));
+        assertThat(snapshot.getFailed(), is(1L));
+        assertThat(snapshot.getInFlight(), is(0));
+        assertThat(snapshot.getQueueWait().getCount(), is(2L));
+        assertThat(snapshot.getServiceTime().getCount(), is(2L));
+        assertTrue(snapshot.getServiceTime().getMax() >= 50);
+    }
+
+    @Test
+    public void test_inFlightGauge() throws Exception {
+        Call call = new Call(10_000, true);
+        executor.execute(call);
+        Thread.sleep(50);
+
+        assertThat(metrics.inFlightCount(), is(1));
+
+        call.cancel();
+
+        assertThat(metrics.inFlightCount(), is(0));
+        assertThat(metrics.snapshot().getCanceled(), is(1L));
+    }
+
+    @Test
+    public void test_canceledBeforeStartDoesNotTouchGauge() {
+        Call call = new Call(100, true);
+        call.markEnqueued();
+        call.cancel();
+
+        assertThat(metrics.inFlightCount(), is(0));
+        assertThat(metrics.snapshot().getCanceled(), is(1L));
+        assertThat(metrics.snapshot().getServiceTime().getCount(), is(0L));
+    }
+
+    @Test
+    public void test_listenerAttachedMidCallDoesNotTouchGauge() {
+        CallTracing.setListener(null);
+        VirtualTime time = new VirtualTime();
+        Call call = new Call(100, true);
+
+        new CallExecutor(time, time).execute(call);
+        time.advanceBy(10);
+        assertThat(call.getState(), is(Call.RUNNING));
+
+        CallTracing.setListener(metrics);
+        time.runUntilIdle();
+
+        assertThat(metrics.inFlightCount(), is(0));
+        assertThat(metrics.snapshot().getSucceeded(), is(1L));
+        assertThat(metrics.snapshot().getServiceTime().getCount(), is(0L));
+    }
+
+    @Test
+    public void test_canceledBetweenStartAndStartEvent() {
+        VirtualTime time = new VirtualTime();
+        Call call = new Call(100, true);
+
+        // Reading the clock for the start event is the gap between the call turning RUNNING and onStarted.
+        CallTracing.setClock(() -> {
+            if (call.getState() == Call.RUNNING)
+                call.cancel();
+            return time.now();
+        });
+
+        new CallExecutor(time, time).execute(call);
+        time.runUntilIdle();
+
+        assertThat(call.getState(), is(Call.CANCELED));
+        assertThat(metrics.inFlightCount(), is(0));
+        assertThat(metrics.snapshot().getCanceled(), is(1L));
+    }
+
+    @Test
+    public void test_noListenerNoTimestamps() {
+        CallTracing.setListener(null);
+        Call call = new Call(100, true);
+        call.markEnqueued();
+
+        assertThat(call.getEnqueuedAt(), is(CallTracing.NOT_TRACED));
+    }
+}
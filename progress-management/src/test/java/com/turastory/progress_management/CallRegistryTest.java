@@ -0,0 +1,115 @@
+package com.turastory.progress_management;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Created by tura on 2026-10-18.
+ */
+public class CallRegistryTest {
+
+    private static final String TAG = "tag";
+
+    private final List<Runnable> posted = new ArrayList<>();
+    private final List<Call> delivered = new ArrayList<>();
+    private final Call.OnFinishListener observer = delivered::add;
+
+    private CallRegistry registry;
+
+    @Before
+    public void setUp() {
+        registry = new CallRegistry(posted::add);
+    }
+
+    @Test
+    public void test_recreatedObserverReceivesResult() {
+        Call call = registry.register(TAG, new Call(1000, true));
+        registry.observe(TAG, observer);
+
+        // The Activity is recreated while the call is in flight.
+        registry.removeObserver(TAG, observer);
+        assertThat(registry.get(TAG), is(sameInstance(call)));
+
+        Call.OnFinishListener recreated = delivered::add;
+        registry.observe(TAG, recreated);
+
+        call.cancel();
+        runPosted();
+
+        assertThat(delivered.size(), is(1));
+        assertThat(delivered.get(0), is(sameInstance(call)));
+        assertThat(registry.get(TAG), is(nullValue()));
+    }
+
+    @Test
+    public void test_resultWithoutObserverIsKept() {
+        Call call = registry.register(TAG, new Call(1000, true));
+        call.cancel();
+        runPosted();
+
+        assertThat(delivered.size(), is(0));
+        assertThat(registry.get(TAG), is(sameInstance(call)));
+
+        registry.observe(TAG, observer);
+
+        assertThat(delivered.size(), is(1));
+        assertThat(registry.size(), is(0));
+    }
+
+    @Test
+    public void test_deliveredOnce() {
+        registry.observe(TAG, observer);
+        Call call = registry.register(TAG, new Call(1000, true));
+        call.cancel();
+        runPosted();
+
+        registry.removeObserver(TAG, observer);
+        registry.observe(TAG, observer);
+
+        assertThat(delivered.size(), is(1));
+    }
+
+    @Test
+    public void test_replacedCallIsNotDelivered() {
+        registry.observe(TAG, observer);
+        Call first = registry.register(TAG, new Call(1000, true));
+        Call second = registry.register(TAG, new Call(1000, true));
+
+        first.cancel();
+        runPosted();
+        assertThat(delivered.size(), is(0));
+
+        second.cancel();
+        runPosted();
+        assertThat(delivered.size(), is(1));
+        assertThat(delivered.get(0), is(sameInstance(second)));
+    }
+
+    @Test
+    public void test_removeOtherObserverIsIgnored() {
+        registry.observe(TAG, observer);
+        registry.removeObserver(TAG, delivered::add);
+
+        Call call = registry.register(TAG, new Call(1000, true));
+        call.cancel();
+        runPosted();
+
+        assertThat(delivered.size(), is(1));
+    }
+
+    private void runPosted() {
+        List<Runnable> runnables = new ArrayList<>(posted);
+        posted.clear();
+
+        for (Runnable runnable : runnables)
+            runnable.run();
+    }
+}
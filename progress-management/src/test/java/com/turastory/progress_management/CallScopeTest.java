@@ -0,0 +1,123 @@
+package com.turastory.progress_management;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Created by tura on 2026-10-18.
+ */
+public class CallScopeTest {
+
+    @Test
+    public void test_cancelCancelsAllCalls() {
+        CallScope scope = new CallScope();
+        Call first = scope.add(new Call(1000, true));
+        Call second = scope.add(new Call(1000, true));
+
+        scope.cancel();
+
+        assertThat(first.isCanceled(), is(true));
+        assertThat(second.isCanceled(), is(true));
+        assertThat(scope.size(), is(0));
+    }
+
+    @Test
+    public void test_finishedCallLeavesScope() {
+        CallScope scope = new CallScope();
+        Call call = scope.add(new Call(1000, true));
+        assertThat(scope.size(), is(1));
+
+        call.cancel();
+
+        assertThat(scope.size(), is(0));
+    }
+
+    @Test
+    public void test_addAfterCancel() {
+        CallScope scope = new CallScope();
+        scope.cancel();
+
+        Call call = scope.add(new Call(1000, true));
+
+        assertThat(call.isCanceled(), is(true));
+        assertThat(scope.size(), is(0));
+    }
+
+    @Test
+    public void test_childCanceledWithParent() {
+        CallScope parent = new CallScope();
+        CallScope child = parent.child();
+        Call call = child.add(new Call(1000, true));
+
+        parent.cancel();
+
+        assertThat(child.isCanceled(), is(true));
+        assertThat(call.isCanceled(), is(true));
+    }
+
+    @Test
+    public void test_childCancelLeavesParent() {
+        CallScope parent = new CallScope();
+        CallScope child = parent.child();
+        Call parentCall = parent.add(new Call(1000, true));
+
+        child.cancel();
+
+        assertThat(parent.size(), is(1));
+        assertThat(parentCall.isCanceled(), is(false));
+        assertThat(parent.isCanceled(), is(false));
+    }
+
+    @Test
+    public void test_closedChildLeavesParentWhenDone() {
+        CallScope parent = new CallScope();
+        CallScope child = parent.child();
+        Call call = child.add(new Call(1000, true));
+
+        child.close();
+        assertThat(parent.size(), is(1));
+
+        call.cancel();
+        assertThat(parent.size(), is(0));
+
+        // An empty child leaves right away.
+        parent.child().close();
+        assertThat(parent.size(), is(0));
+    }
+
+    @Test
+    public void test_closedChildIsStillCanceledWithParent() {
+        CallScope parent = new CallScope();
+        CallScope child = parent.child();
+        Call call = child.add(new Call(1000, true));
+
+        child.close();
+        parent.cancel();
+
+        assertThat(call.isCanceled(), is(true));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void test_addAfterClose() {
+        CallScope scope = new CallScope();
+        scope.close();
+
+        scope.add(new Call(1000, true));
+    }
+
+    @Test
+    public void test_registryRenewsCanceledScope() {
+        CallRegistry registry = new CallRegistry(Runnable::run);
+        CallScope scope = registry.scope("screen");
+
+        assertThat(registry.scope("screen") == scope, is(true));
+
+        scope.cancel();
+        CallScope renewed = registry.scope("screen");
+
+        assertThat(renewed == scope, is(false));
+        assertThat(renewed.isCanceled(), is(false));
+    }
+}
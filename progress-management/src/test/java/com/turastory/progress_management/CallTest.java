@@ -0,0 +1,164 @@
+package com.turastory.progress_management;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by tura on 2026-10-18.
+ */
+public class CallTest {
+
+    private CallExecutor executor;
+
+    @Before
+    public void setUp() {
+        executor = CallExecutor.bounded(2, 8);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void test_cancelFinishesImmediately() throws Exception {
+        Call call = new Call(10_000, true);
+        CountDownLatch finished = new CountDownLatch(1);
+        AtomicLong finishedAt = new AtomicLong();
+
+        call.addOnFinishListener(c -> {
+            finishedAt.set(System.nanoTime());
+            finished.countDown();
+        });
+
+        executor.execute(call);
+        Thread.sleep(50);
+
+        long canceledAt = System.nanoTime();
+        call.cancel();
+
+        assertTrue(finished.await(1, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(finishedAt.get() - canceledAt) < 5);
+        assertThat(call.getState(), is(Call.CANCELED));
+    }
+
+    @Test
+    public void test_cancelBeforeStart() throws Exception {
+        Call call = new Call(100, true);
+        AtomicInteger finishCount = new AtomicInteger();
+        call.addOnFinishListener(c -> finishCount.incrementAndGet());
+
+        call.cancel();
+        executor.execute(call);
+        Thread.sleep(200);
+
+        assertThat(call.getState(), is(Call.CANCELED));
+        assertThat(finishCount.get(), is(1));
+    }
+
+    @Test
+    public void test_succeedAndFail() throws Exception {
+        Call success = new Call(20, true);
+        Call failure = new Call(20, false);
+        CountDownLatch finished = new CountDownLatch(2);
+
+        success.addOnFinishListener(c -> finished.countDown());
+        failure.addOnFinishListener(c -> finished.countDown());
+
+        executor.execute(success);
+        executor.execute(failure);
+
+        assertTrue(finished.await(1, TimeUnit.SECONDS));
+        assertThat(success.getState(), is(Call.SUCCEEDED));
+        assertThat(failure.getState(), is(Call.FAILED));
+    }
+
+    @Test
+    public void test_cancelAfterFinishIsIgnored() throws Exception {
+        Call call = new Call(10, true);
+        CountDownLatch finished = new CountDownLatch(1);
+        AtomicInteger finishCount = new AtomicInteger();
+
+        call.addOnFinishListener(c -> {
+            finishCount.incrementAndGet();
+            finished.countDown();
+        });
+
+        executor.execute(call);
+        assertTrue(finished.await(1, TimeUnit.SECONDS));
+        call.cancel();
+
+        assertThat(call.getState(), is(Call.SUCCEEDED));
+        assertThat(finishCount.get(), is(1));
+    }
+
+    @Test
+    public void test_listenerAddedAfterFinish() {
+        Call call = new Call(10, true);
+        call.cancel();
+
+        AtomicInteger finishCount = new AtomicInteger();
+        call.addOnFinishListener(c -> finishCount.incrementAndGet());
+
+        assertThat(finishCount.get(), is(1));
+    }
+
+    @Test
+    public void test_retryUntilSuccess() throws Exception {
+        Call call = new Call(null, 10, 2);
+        call.setRetryPolicy(new RetryPolicy(3, 10, 10, RetryBudget.UNLIMITED));
+        CountDownLatch finished = new CountDownLatch(1);
+        call.addOnFinishListener(c -> finished.countDown());
+
+        executor.execute(call);
+
+        assertTrue(finished.await(1, TimeUnit.SECONDS));
+        assertThat(call.getState(), is(Call.SUCCEEDED));
+        assertThat(call.getAttempts(), is(3));
+    }
+
+    @Test
+    public void test_failAfterMaxAttempts() throws Exception {
+        Call call = new Call(null, 10, Call.ALWAYS_FAIL);
+        call.setRetryPolicy(new RetryPolicy(3, 10, 10, RetryBudget.UNLIMITED));
+        CountDownLatch finished = new CountDownLatch(1);
+        call.addOnFinishListener(c -> finished.countDown());
+
+        executor.execute(call);
+
+        assertTrue(finished.await(1, TimeUnit.SECONDS));
+        assertThat(call.getState(), is(Call.FAILED));
+        assertThat(call.getAttempts(), is(3));
+    }
+
+    @Test
+    public void test_cancelWhileWaitingToRetry() throws Exception {
+        Call call = new Call(null, 10, Call.ALWAYS_FAIL);
+        call.setRetryPolicy(new RetryPolicy(3, 10_000, 10_000, RetryBudget.UNLIMITED, new Random() {
+            @Override
+            public double nextDouble() {
+                return 0.99;
+            }
+        }));
+
+        executor.execute(call);
+        Thread.sleep(100);
+
+        assertThat(call.getState(), is(Call.RUNNING));
+        assertThat(call.getAttempts(), is(1));
+
+        call.cancel();
+        assertThat(call.getState(), is(Call.CANCELED));
+    }
+}
@@ -0,0 +1,162 @@
+package com.turastory.progress_management;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Created by tura on 2026-10-18.
+ */
+public class EndpointLimiterTest {
+
+    private VirtualTime time;
+    private ProgressTracker tracker;
+    private EndpointLimiter limiter;
+
+    @Before
+    public void setUp() {
+        time = new VirtualTime();
+        tracker = new ProgressTracker(time, 200, 500);
+        limiter = new EndpointLimiter(new SingleFlight(new CallExecutor(time, time), tracker), tracker,
+            time, time, new EndpointLimiter.Limits(100, 1, 2));
+    }
+
+    @Test
+    public void test_tokenBucket() {
+        TokenBucket bucket = new TokenBucket(3, 100);
+
+        assertThat(bucket.tryAcquire(0), is(0L));
+        assertThat(bucket.tryAcquire(0), is(0L));
+        assertThat(bucket.tryAcquire(0), is(0L));
+        assertThat(bucket.tryAcquire(0), is(100L));
+        assertThat(bucket.tryAcquire(40), is(60L));
+        assertThat(bucket.tryAcquire(100), is(0L));
+        assertThat(bucket.tryAcquire(100), is(100L));
+    }
+
+    @Test
+    public void test_concurrencyCap() {
+        for (int i = 0; i < 8; i++)
+            limiter.execute("a", new Call(30, true));
+
+        // Queued calls are tracked as well, and started calls aren't tracked twice.
+        assertThat(tracker.inFlightCount(), is(8));
+        assertThat(limiter.queuedCount("a"), is(6));
+
+        time.runUntilIdle();
+        assertThat(limiter.queuedCount("a"), is(0));
+        assertThat(tracker.inFlightCount(), is(0));
+        // Four rounds of two calls.
+        assertThat(time.now(), is(120L));
+    }
+
+    @Test
+    public void test_rateLimit() {
+        limiter.setLimits("slow", new EndpointLimiter.Limits(2, 100, 10));
+        List<Long> finishedAt = new ArrayList<>();
+
+        for (int i = 0; i < 4; i++) {
+            Call call = new Call(1, true);
+            call.addOnFinishListener(c -> finishedAt.add(time.now()));
+            limiter.execute("slow", call);
+        }
+
+        assertThat(limiter.queuedCount("slow"), is(2));
+
+        time.runUntilIdle();
+
+        // Two start right away, then one every 100 ms.
+        assertThat(finishedAt.toString(), is("[1, 1, 101, 201]"));
+    }
+
+    @Test
+    public void test_endpointsAreIndependent() {
+        limiter.setLimits("slow", new EndpointLimiter.Limits(1, 10_000, 1));
+
+        limiter.execute("slow", new Call(1000, true));
+        limiter.execute("slow", new Call(1000, true));
+        limiter.execute("fast", new Call(1000, true));
+
+        assertThat(limiter.queuedCount("slow"), is(1));
+        assertThat(limiter.queuedCount("fast"), is(0));
+    }
+
+    @Test
+    public void test_canceledWhileQueuedEndsTracking() {
+        limiter.setLimits("slow", new EndpointLimiter.Limits(1, 10_000, 1));
+        Call first = new Call(10_000, true);
+        Call queued = new Call(10_000, true);
+
+        limiter.execute("slow", first);
+        limiter.execute("slow", queued);
+        int tracked = tracker.inFlightCount();
+
+        queued.cancel();
+
+        assertThat(tracker.inFlightCount(), is(tracked - 1));
+        first.cancel();
+    }
+
+    @Test
+    public void test_joinedCallFinishesWithSharedResult() {
+        Call first = new Call("same", 30, true);
+        Call second = new Call("same", 30, true);
+
+        limiter.execute("a", first);
+        limiter.execute("a", second);
+
+        time.runUntilIdle();
+
+        assertThat(second.getState(), is(Call.SUCCEEDED));
+        assertThat(tracker.inFlightCount(), is(0));
+    }
+
+    @Test
+    public void test_canceledCallDoesNotTakeToken() {
+        limiter.setLimits("slow", new EndpointLimiter.Limits(2, 10_000, 1));
+        Call first = new Call(10_000, true);
+        Call canceled = new Call(10_000, true);
+        Call next = new Call(10_000, true);
+
+        limiter.execute("slow", first);
+        limiter.execute("slow", canceled);
+        limiter.execute("slow", next);
+        canceled.cancel();
+
+        // Frees the permit. The second token goes to the next call, not to the canceled one.
+        first.cancel();
+
+        assertThat(limiter.queuedCount("slow"), is(0));
+        next.cancel();
+    }
+
+    @Test
+    public void test_callsFinishingWhileStartingDoNotRecurse() {
+        VirtualTime workers = new VirtualTime();
+        EndpointLimiter limiter = new EndpointLimiter(new SingleFlight(new CallExecutor(workers, time), tracker),
+            tracker, time, time, new EndpointLimiter.Limits(100_000, 1, 1));
+        List<Call> queued = new ArrayList<>();
+
+        limiter.execute("a", new Call(10, true));
+        for (int i = 0; i < 20_000; i++) {
+            Call call = new Call(10, true);
+            queued.add(call);
+            limiter.execute("a", call);
+        }
+
+        // From now on every start is rejected, so each queued call finishes inside start().
+        workers.shutdown();
+        workers.runUntilIdle();
+        time.runUntilIdle();
+
+        assertThat(limiter.queuedCount("a"), is(0));
+        for (Call call : queued)
+            assertThat(call.getState(), is(Call.FAILED));
+        assertThat(tracker.inFlightCount(), is(0));
+    }
+}
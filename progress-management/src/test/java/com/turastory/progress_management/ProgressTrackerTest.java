@@ -0,0 +1,205 @@
+package com.turastory.progress_management;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Created by tura on 2026-10-18.
+ */
+public class ProgressTrackerTest {
+
+    private ManualScheduler scheduler;
+    private CountingView view;
+    private ProgressTracker tracker;
+
+    @Before
+    public void setUp() {
+        scheduler = new ManualScheduler();
+        view = new CountingView();
+        tracker = new ProgressTracker(scheduler, 200, 500);
+        tracker.attach(view);
+    }
+
+    @Test
+    public void test_shortCallDoesNotShow() {
+        tracker.begin();
+        scheduler.advance(150);
+        tracker.end();
+        scheduler.advance(1000);
+
+        assertThat(view.shows, is(0));
+        assertThat(view.dismisses, is(0));
+    }
+
+    @Test
+    public void test_longCallShowsAfterDelay() {
+        tracker.begin();
+        scheduler.advance(199);
+        assertThat(view.shows, is(0));
+
+        scheduler.advance(1);
+        assertThat(view.shows, is(1));
+        assertThat(tracker.isShown(), is(true));
+    }
+
+    @Test
+    public void test_staysForMinimumDisplayTime() {
+        tracker.begin();
+        scheduler.advance(250);
+        tracker.end();
+
+        scheduler.advance(449);
+        assertThat(view.dismisses, is(0));
+
+        scheduler.advance(1);
+        assertThat(view.dismisses, is(1));
+        assertThat(tracker.isShown(), is(false));
+    }
+
+    @Test
+    public void test_burstShowsOnce() {
+        for (int i = 0; i < 10; i++)
+            tracker.begin();
+
+        scheduler.advance(300);
+
+        for (int i = 0; i < 9; i++) {
+            tracker.end();
+            tracker.begin();
+            tracker.end();
+        }
+
+        scheduler.advance(100);
+        assertThat(view.dismisses, is(0));
+
+        tracker.end();
+        scheduler.advance(1000);
+
+        assertThat(view.shows, is(1));
+        assertThat(view.dismisses, is(1));
+        assertThat(tracker.inFlightCount(), is(0));
+    }
+
+    @Test
+    public void test_newCallDuringMinimumDisplayKeepsShowing() {
+        tracker.begin();
+        scheduler.advance(250);
+        tracker.end();
+        scheduler.advance(100);
+
+        tracker.begin();
+        scheduler.advance(1000);
+
+        assertThat(view.shows, is(1));
+        assertThat(view.dismisses, is(0));
+    }
+
+    @Test
+    public void test_attachWhileShown() {
+        tracker.begin();
+        scheduler.advance(300);
+        tracker.detach(view);
+
+        CountingView next = new CountingView();
+        tracker.attach(next);
+
+        assertThat(view.dismisses, is(1));
+        assertThat(next.shows, is(1));
+
+        tracker.end();
+        scheduler.advance(1000);
+        assertThat(next.dismisses, is(1));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void test_endWithoutBegin() {
+        tracker.end();
+    }
+
+    private static class CountingView implements ProgressTracker.ProgressView {
+        int shows;
+        int dismisses;
+
+        @Override
+        public void show() {
+            shows++;
+        }
+
+        @Override
+        public void dismiss() {
+            dismisses++;
+        }
+    }
+
+    /**
+     * Runs posted tasks only when the test advances the time.
+     */
+    private static class ManualScheduler implements ProgressTracker.Scheduler {
+        private final List<Task> tasks = new ArrayList<>();
+        private long now;
+
+        @Override
+        public long now() {
+            return now;
+        }
+
+        @Override
+        public void post(Runnable runnable) {
+            postDelayed(runnable, 0);
+        }
+
+        @Override
+        public void postDelayed(Runnable runnable, long delayMs) {
+            tasks.add(new Task(runnable, now + delayMs));
+        }
+
+        @Override
+        public void cancel(Runnable runnable) {
+            Iterator<Task> iterator = tasks.iterator();
+
+            while (iterator.hasNext()) {
+                if (iterator.next().runnable == runnable)
+                    iterator.remove();
+            }
+        }
+
+        void advance(long millis) {
+            long target = now + millis;
+
+            while (true) {
+                Task next = null;
+
+                for (Task task : tasks) {
+                    if (task.at <= target && (next == null || task.at < next.at))
+                        next = task;
+                }
+
+                if (next == null)
+                    break;
+
+                tasks.remove(next);
+                now = Math.max(now, next.at);
+                next.runnable.run();
+            }
+
+            now = target;
+        }
+    }
+
+    private static class Task {
+        final Runnable runnable;
+        final long at;
+
+        Task(Runnable runnable, long at) {
+            this.runnable = runnable;
+            this.at = at;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.turastory.progress_management;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by tura on 2026-10-18.
+ */
+public class RetryPolicyTest {
+
+    private final AtomicLong now = new AtomicLong(0);
+
+    @Test
+    public void test_backoffCeilingDoublesUpToMax() {
+        RetryPolicy policy = new RetryPolicy(10, 100, 1000, RetryBudget.UNLIMITED);
+
+        assertThat(policy.backoffCeiling(1), is(100L));
+        assertThat(policy.backoffCeiling(2), is(200L));
+        assertThat(policy.backoffCeiling(4), is(800L));
+        assertThat(policy.backoffCeiling(5), is(1000L));
+        assertThat(policy.backoffCeiling(100), is(1000L));
+    }
+
+    @Test
+    public void test_delayIsWithinJitterRange() {
+        RetryPolicy policy = new RetryPolicy(10, 100, 1000, RetryBudget.UNLIMITED, new Random(42));
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+
+        for (int i = 0; i < 10_000; i++) {
+            long delay = policy.nextDelay(3);
+            min = Math.min(min, delay);
+            max = Math.max(max, delay);
+        }
+
+        assertTrue(min >= 0 && min < 20);
+        assertTrue(max <= 400 && max > 380);
+    }
+
+    @Test
+    public void test_stopsAtMaxAttempts() {
+        RetryPolicy policy = new RetryPolicy(3, 100, 1000, RetryBudget.UNLIMITED);
+
+        assertTrue(policy.nextDelay(1) >= 0);
+        assertTrue(policy.nextDelay(2) >= 0);
+        assertThat(policy.nextDelay(3), is(RetryPolicy.NO_RETRY));
+    }
+
+    @Test
+    public void test_noneNeverRetries() {
+        assertThat(RetryPolicy.NONE.nextDelay(1), is(RetryPolicy.NO_RETRY));
+    }
+
+    @Test
+    public void test_budgetLimitsRetriesPerWindow() {
+        RetryBudget budget = new RetryBudget(5, 1000, now::get);
+
+        for (int i = 0; i < 5; i++)
+            assertThat(budget.tryAcquire(), is(true));
+
+        assertThat(budget.tryAcquire(), is(false));
+
+        now.addAndGet(200);
+        assertThat(budget.tryAcquire(), is(true));
+        assertThat(budget.tryAcquire(), is(false));
+
+        now.addAndGet(1000);
+        for (int i = 0; i < 5; i++)
+            assertThat(budget.tryAcquire(), is(true));
+
+        assertThat(budget.tryAcquire(), is(false));
+    }
+
+    @Test
+    public void test_budgetWithUnevenInterval() {
+        // 7 retries per 10 ms: one every 10/7 ms, not one every 1 ms.
+        RetryBudget budget = new RetryBudget(7, 10, now::get);
+
+        for (int i = 0; i < 7; i++)
+            assertThat(budget.tryAcquire(), is(true));
+
+        assertThat(budget.tryAcquire(), is(false));
+
+        now.addAndGet(1);
+        assertThat(budget.tryAcquire(), is(false));
+
+        now.addAndGet(1);
+        assertThat(budget.tryAcquire(), is(true));
+        assertThat(budget.tryAcquire(), is(false));
+
+        now.addAndGet(10);
+        for (int i = 0; i < 7; i++)
+            assertThat(budget.tryAcquire(), is(true));
+
+        assertThat(budget.tryAcquire(), is(false));
+    }
+
+    @Test
+    public void test_budgetWithMoreRetriesThanMillis() {
+        RetryBudget budget = new RetryBudget(10, 7, now::get);
+
+        for (int i = 0; i < 10; i++)
+            assertThat(budget.tryAcquire(), is(true));
+
+        assertThat(budget.tryAcquire(), is(false));
+
+        // 10 retries come back every 7 ms, so 1 ms gives one back.
+        now.addAndGet(1);
+        assertThat(budget.tryAcquire(), is(true));
+        assertThat(budget.tryAcquire(), is(false));
+
+        now.addAndGet(7);
+        for (int i = 0; i < 10; i++)
+            assertThat(budget.tryAcquire(), is(true));
+
+        assertThat(budget.tryAcquire(), is(false));
+    }
+
+    @Test
+    public void test_exhaustedBudgetStopsRetries() {
+        RetryBudget budget = new RetryBudget(1, 1000, now::get);
+        RetryPolicy policy = new RetryPolicy(10, 100, 1000, budget);
+
+        assertTrue(policy.nextDelay(1) >= 0);
+        assertThat(policy.nextDelay(1), is(RetryPolicy.NO_RETRY));
+    }
+}
@@ -0,0 +1,101 @@
+package com.turastory.progress_management;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Created by tura on 2026-10-18.
+ */
+public class SingleFlightTest {
+
+    private VirtualTime time;
+    private ProgressTracker tracker;
+    private SingleFlight singleFlight;
+
+    @Before
+    public void setUp() {
+        time = new VirtualTime();
+        tracker = new ProgressTracker(time, 200, 500);
+        singleFlight = new SingleFlight(new CallExecutor(time, time), tracker);
+    }
+
+    @Test
+    public void test_sameKeySharesExecution() {
+        Call first = singleFlight.execute(new Call("a", 100, true));
+        Call second = singleFlight.execute(new Call("a", 100, false));
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(tracker.inFlightCount(), is(1));
+
+        time.runUntilIdle();
+
+        assertThat(second.getState(), is(Call.SUCCEEDED));
+        assertThat(tracker.inFlightCount(), is(0));
+    }
+
+    @Test
+    public void test_joinedCallFinishesWithSharedResult() {
+        Call shared = singleFlight.execute(new Call("a", 20, false));
+        Call joined = new Call("a", 100, true);
+        List<Call> finished = new ArrayList<>();
+        joined.addOnFinishListener(finished::add);
+
+        // Tracked by the caller, like EndpointLimiter does. Tracking only ends if the joined call finishes.
+        tracker.track(joined);
+        assertThat(singleFlight.executeTracked(joined), is(sameInstance(shared)));
+
+        time.runUntilIdle();
+
+        assertThat(finished.size(), is(1));
+        assertThat(joined.getState(), is(Call.FAILED));
+        assertThat(tracker.inFlightCount(), is(0));
+    }
+
+    @Test
+    public void test_differentKeysRunSeparately() {
+        Call first = singleFlight.execute(new Call("a", 100, true));
+        Call second = singleFlight.execute(new Call("b", 100, true));
+
+        assertThat(second, is(not(sameInstance(first))));
+        assertThat(singleFlight.inFlightCount(), is(2));
+    }
+
+    @Test
+    public void test_nullKeyIsNeverShared() {
+        Call first = singleFlight.execute(new Call(100, true));
+        Call second = singleFlight.execute(new Call(100, true));
+
+        assertThat(second, is(not(sameInstance(first))));
+        assertThat(singleFlight.inFlightCount(), is(0));
+        assertThat(tracker.inFlightCount(), is(2));
+    }
+
+    @Test
+    public void test_keyIsReleasedAfterFinish() {
+        Call first = singleFlight.execute(new Call("a", 10, true));
+        time.runUntilIdle();
+
+        Call second = singleFlight.execute(new Call("a", 10, true));
+
+        assertThat(second, is(not(sameInstance(first))));
+    }
+
+    @Test
+    public void test_cancelledCallIsNotJoined() {
+        Call first = singleFlight.execute(new Call("a", 1000, true));
+        first.cancel();
+
+        Call second = singleFlight.execute(new Call("a", 1000, true));
+
+        assertThat(second, is(not(sameInstance(first))));
+        assertThat(second.isCanceled(), is(false));
+    }
+}
@@ -0,0 +1,261 @@
+package com.turastory.progress_management;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * Single-threaded virtual time for tests. It serves as the {@link Clock}, the call executor and scheduler,
+ * and the progress tracker's main thread, so a whole scenario runs on the test thread
+ * and only moves forward when the test calls {@link #advanceBy(long)} or {@link #runUntilIdle()}.
+ * <p>
+ * Tasks due at the same time run in the order they were scheduled.
+ */
+class VirtualTime extends AbstractExecutorService
+    implements ScheduledExecutorService, Clock, ProgressTracker.Scheduler {
+
+    private final PriorityQueue<Task<?>> tasks = new PriorityQueue<>();
+    private long now;
+    private long sequence;
+    private long executed;
+    private boolean shutdown;
+
+    @Override
+    public long now() {
+        return now;
+    }
+
+    public long executedCount() {
+        return executed;
+    }
+
+    public int pendingCount() {
+        return tasks.size();
+    }
+
+    /**
+     * Runs every task due within {@code millis}, moving the clock to each task's time, and ends at now + millis.
+     */
+    public void advanceBy(long millis) {
+        long target = now + millis;
+
+        while (!tasks.isEmpty() && tasks.peek().time <= target)
+            runNext();
+
+        now = target;
+    }
+
+    /**
+     * Runs tasks until none is left, moving the clock as far as needed.
+     */
+    public void runUntilIdle() {
+        while (!tasks.isEmpty())
+            runNext();
+    }
+
+    private void runNext() {
+        Task<?> task = tasks.poll();
+        now = Math.max(now, task.time);
+        executed++;
+        task.run();
+    }
+
+    // ProgressTracker.Scheduler
+
+    @Override
+    public void post(Runnable runnable) {
+        schedule(runnable, 0, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void postDelayed(Runnable runnable, long delayMs) {
+        schedule(runnable, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void cancel(Runnable runnable) {
+        Iterator<Task<?>> iterator = tasks.iterator();
+
+        while (iterator.hasNext()) {
+            if (iterator.next().runnable == runnable)
+                iterator.remove();
+        }
+    }
+
+    // ScheduledExecutorService
+
+    @Override
+    public void execute(Runnable command) {
+        schedule(command, 0, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return enqueue(new Task<Void>(command, null, now + unit.toMillis(Math.max(0, delay)), sequence++));
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        return enqueue(new Task<>(null, callable, now + unit.toMillis(Math.max(0, delay)), sequence++));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        throw new UnsupportedOperationException();
+    }
+
+    // Tasks run on the test thread, so cancelling one that is running must not interrupt the test.
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+        return new FutureTask<T>(runnable, value) {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                return super.cancel(false);
+            }
+        };
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+        return new FutureTask<T>(callable) {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                return super.cancel(false);
+            }
+        };
+    }
+
+    private <V> Task<V> enqueue(Task<V> task) {
+        if (shutdown)
+            throw new RejectedExecutionException("shut down");
+
+        tasks.add(task);
+        return task;
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        List<Runnable> remaining = new ArrayList<Runnable>(tasks);
+        tasks.clear();
+        return remaining;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && tasks.isEmpty();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) {
+        return isTerminated();
+    }
+
+    private class Task<V> implements ScheduledFuture<V>, Runnable {
+        final Runnable runnable;
+        final Callable<V> callable;
+        final long time;
+        final long order;
+
+        private boolean done;
+        private boolean cancelled;
+        private V result;
+
+        Task(Runnable runnable, Callable<V> callable, long time, long order) {
+            this.runnable = runnable;
+            this.callable = callable;
+            this.time = time;
+            this.order = order;
+        }
+
+        @Override
+        public void run() {
+            if (done)
+                return;
+
+            try {
+                if (callable != null)
+                    result = callable.call();
+                else
+                    runnable.run();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            } finally {
+                done = true;
+            }
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(time - now, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            Task<?> task = (Task<?>) other;
+
+            if (time != task.time)
+                return time < task.time ? -1 : 1;
+
+            return Long.compare(order, task.order);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            if (done)
+                return false;
+
+            done = true;
+            cancelled = true;
+            tasks.remove(this);
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isDone() {
+            return done;
+        }
+
+        @Override
+        public V get() {
+            return result;
+        }
+
+        @Override
+        public V get(long timeout, TimeUnit unit) {
+            return result;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.turastory.progress_management;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * Sequential, parallel and progress scenarios on {@link VirtualTime}, without sleeping.
+ */
+public class VirtualTimeCallTest {
+
+    private VirtualTime time;
+    private ProgressTracker tracker;
+    private SingleFlight singleFlight;
+    private CountingView view;
+
+    @Before
+    public void setUp() {
+        time = new VirtualTime();
+        tracker = new ProgressTracker(time, 200, 500);
+        singleFlight = new SingleFlight(new CallExecutor(time, time), tracker);
+        view = new CountingView();
+        tracker.attach(view);
+        CallTracing.setClock(time);
+    }
+
+    @After
+    public void tearDown() {
+        CallTracing.setListener(null);
+        CallTracing.setClock(Clock.UPTIME);
+    }
+
+    @Test
+    public void test_sequentialCallsRunOneAfterAnother() {
+        CallHandler handler = new CallHandler(singleFlight, 1, time);
+        List<Long> finishedAt = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            Call call = new Call(1000, true);
+            call.addOnFinishListener(c -> finishedAt.add(time.now()));
+            handler.enqueue(call);
+        }
+
+        time.runUntilIdle();
+
+        assertThat(finishedAt.size(), is(5));
+        for (int i = 0; i < 5; i++)
+            assertThat(finishedAt.get(i), is((i + 1) * 1000L));
+    }
+
+    @Test
+    public void test_parallelLaneWithConcurrencyTwo() {
+        CallHandler handler = new CallHandler(singleFlight, 2, time);
+        List<Long> finishedAt = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            Call call = new Call(1000, true);
+            call.addOnFinishListener(c -> finishedAt.add(time.now()));
+            handler.enqueue(call);
+        }
+
+        time.runUntilIdle();
+
+        assertThat(finishedAt.toString(), is("[1000, 1000, 2000, 2000, 3000]"));
+    }
+
+    @Test
+    public void test_progressCoversWholeSequence() {
+        CallHandler handler = new CallHandler(singleFlight, 1, time);
+
+        for (int i = 0; i < 3; i++)
+            handler.enqueue(new Call(1000, true));
+
+        time.advanceBy(199);
+        assertThat(view.shows, is(0));
+
+        time.advanceBy(1);
+        assertThat(view.shows, is(1));
+
+        time.advanceBy(2799);
+        assertThat(view.dismisses, is(0));
+
+        time.advanceBy(1);
+        assertThat(view.shows, is(1));
+        assertThat(view.dismisses, is(1));
+    }
+
+    @Test
+    public void test_shortCallsNeverShowProgress() {
+        CallHandler handler = new CallHandler(singleFlight, 4, time);
+
+        for (int i = 0; i < 4; i++)
+            handler.enqueue(new Call(150, true));
+
+        time.runUntilIdle();
+
+        assertThat(view.shows, is(0));
+        assertThat(tracker.inFlightCount(), is(0));
+    }
+
+    @Test
+    public void test_deadlineDropsLateCall() {
+        CallHandler handler = new CallHandler(singleFlight, 1, time);
+        Call blocker = new Call(1000, true);
+        Call late = new Call(1000, true);
+
+        handler.enqueue(blocker);
+        handler.enqueue(late, CallHandler.PRIORITY_DEFAULT, 500);
+        time.runUntilIdle();
+
+        assertThat(blocker.getState(), is(Call.SUCCEEDED));
+        assertThat(late.getState(), is(Call.CANCELED));
+        assertThat(time.now(), is(1000L));
+    }
+
+    @Test
+    public void test_retryTimelineIsDeterministic() {
+        Call call = new Call(null, 100, 2);
+        call.setRetryPolicy(new RetryPolicy(3, 100, 1000, new RetryBudget(10, 10_000, time), new Random(1)));
+        List<Long> finishedAt = new ArrayList<>();
+        call.addOnFinishListener(c -> finishedAt.add(time.now()));
+
+        singleFlight.execute(call);
+        time.runUntilIdle();
+
+        // 3 attempts of 100 ms plus two jittered waits within [0, 100] and [0, 200].
+        assertThat(call.getState(), is(Call.SUCCEEDED));
+        assertThat(call.getAttempts(), is(3));
+        assertThat(finishedAt.get(0) >= 300 && finishedAt.get(0) <= 600, is(true));
+
+        VirtualTime again = new VirtualTime();
+        Call same = new Call(null, 100, 2);
+        same.setRetryPolicy(new RetryPolicy(3, 100, 1000, new RetryBudget(10, 10_000, again), new Random(1)));
+        same.addOnFinishListener(c -> finishedAt.add(again.now()));
+        new SingleFlight(new CallExecutor(again, again), new ProgressTracker(again, 200, 500)).execute(same);
+        again.runUntilIdle();
+
+        assertThat(finishedAt.get(1), is(finishedAt.get(0)));
+    }
+
+    @Test
+    public void test_rateLimitedParallelStarts() {
+        EndpointLimiter limiter = new EndpointLimiter(singleFlight, tracker, time, time,
+            new EndpointLimiter.Limits(2, 100, 10));
+        List<Long> finishedAt = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            Call call = new Call(10, true);
+            call.addOnFinishListener(c -> finishedAt.add(time.now()));
+            limiter.execute("a", call);
+        }
+
+        time.runUntilIdle();
+
+        assertThat(finishedAt.toString(), is("[10, 10, 110, 210, 310]"));
+    }
+
+    @Test
+    public void test_cancelScopeMidFlight() {
+        CallHandler handler = new CallHandler(singleFlight, 1, time);
+        CallScope scope = new CallScope();
+
+        for (int i = 0; i < 3; i++)
+            handler.enqueue(scope.add(new Call(1000, true)));
+
+        time.advanceBy(500);
+        scope.cancel();
+        time.runUntilIdle();
+
+        assertThat(scope.size(), is(0));
+        assertThat(handler.runningCount(), is(0));
+        assertThat(tracker.inFlightCount(), is(0));
+
+        // Nothing ran after the cancel except hiding the progress, shown at 200 for at least 500 ms.
+        assertThat(view.dismisses, is(1));
+        assertThat(time.now(), is(700L));
+    }
+
+    private static class CountingView implements ProgressTracker.ProgressView {
+        int shows;
+        int dismisses;
+
+        @Override
+        public void show() {
+            shows++;
+        }
+
+        @Override
+        public void dismiss() {
+            dismisses++;
+        }
+    }
+}
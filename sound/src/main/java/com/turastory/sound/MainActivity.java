@@ -59,7 +59,7 @@ public class MainActivity extends AppCompatActivity {
     
     private void setupCustom() {
         sounds = Sounds.loadFromAssets(this)
-            .addRawSound(new Sound("Hello World", "Cartoon Enlarge.wav", 2))
+            .addLazySound(new Sound("Hello World", "Cartoon Enlarge.wav", 2))
             .load();
         
         findViewById(R.id.play_custom_button).setOnClickListener(v -> {
@@ -5,6 +5,8 @@ import android.app.Application;
 import com.turastory.sound.sound.Sound;
 import com.turastory.sound.sound.Sounds;
 
+import java.io.File;
+
 /**
  * Created by tura on 2018-04-12.
  *
@@ -27,6 +29,7 @@ public class MyApplication extends Application {
             .addRawSound(new Sound("sad_trombone", "Sad Trombone 2.wav", 1))
             .addRawSound(new Sound("yee_ha", "Yelling Yee Ha.wav", 1))
             .enableSequentialPlayback()
+            .enableDurationCache(new File(getCacheDir(), "sound-durations"))
             .load();
     
         Sounds.setGlobalInstance(sounds);
@@ -0,0 +1,185 @@
+package com.turastory.sound.sound;
+
+import android.util.Log;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * Durations of sounds kept on disk, so they aren't extracted again on every launch.
+ * <p>
+ * An entry is keyed by the sound's path, and only used while the size and modification time still match.
+ * The file is memory-mapped and read once, on the first lookup. New entries are written back by {@link #save()},
+ * to a temporary file renamed over the old one, so a crash never leaves a half-written cache.
+ * <p>
+ * Format: magic, version, entry count, then per entry the UTF-8 path (length-prefixed), size, modification time
+ * and duration.
+ */
+class DurationCache {
+
+    static final int MISSING = -1;
+
+    private static final int MAGIC = 0x534e4443; // SNDC
+    private static final int VERSION = 1;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final File file;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded;
+    private volatile boolean dirty;
+
+    DurationCache(File file) {
+        this.file = file;
+    }
+
+    /**
+     * @return the cached duration, or {@link #MISSING} if there is none or the file has changed.
+     */
+    int get(Key key) {
+        ensureLoaded();
+
+        Entry entry = entries.get(key.path);
+
+        if (entry == null || entry.size != key.size || entry.lastModified != key.lastModified)
+            return MISSING;
+
+        return entry.duration;
+    }
+
+    void put(Key key, int duration) {
+        ensureLoaded();
+
+        entries.put(key.path, new Entry(key.size, key.lastModified, duration));
+        dirty = true;
+    }
+
+    /**
+     * Writes the cache if entries were added since it was read or saved.
+     */
+    synchronized void save() {
+        if (!dirty)
+            return;
+
+        dirty = false;
+        Map<String, Entry> snapshot = new HashMap<>(entries);
+        File temp = new File(file.getPath() + ".tmp");
+
+        try {
+            DataOutputStream out = new DataOutputStream(new FileOutputStream(temp));
+
+            try {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(snapshot.size());
+
+                for (Map.Entry<String, Entry> item : snapshot.entrySet()) {
+                    byte[] path = item.getKey().getBytes(UTF_8);
+                    Entry entry = item.getValue();
+
+                    out.writeShort(path.length);
+                    out.write(path);
+                    out.writeLong(entry.size);
+                    out.writeLong(entry.lastModified);
+                    out.writeInt(entry.duration);
+                }
+            } finally {
+                out.close();
+            }
+
+            if (!temp.renameTo(file))
+                throw new IOException("Cannot rename " + temp + " to " + file);
+        } catch (IOException e) {
+            Log.e("Sounds", "Failed to save duration cache", e);
+            temp.delete();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded)
+            return;
+
+        synchronized (this) {
+            if (!loaded) {
+                if (file.exists())
+                    readFile();
+
+                loaded = true;
+            }
+        }
+    }
+
+    private void readFile() {
+        try {
+            RandomAccessFile raf = new RandomAccessFile(file, "r");
+
+            try {
+                FileChannel channel = raf.getChannel();
+                read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            } finally {
+                raf.close();
+            }
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            // Start over, the next save replaces the file.
+            Log.e("Sounds", "Failed to read duration cache", e);
+            entries.clear();
+        }
+    }
+
+    private void read(MappedByteBuffer buffer) {
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+            throw new IllegalArgumentException("Unknown duration cache format");
+
+        int count = buffer.getInt();
+
+        for (int i = 0; i < count; i++) {
+            byte[] path = new byte[buffer.getShort() & 0xffff];
+            buffer.get(path);
+
+            long size = buffer.getLong();
+            long lastModified = buffer.getLong();
+            int duration = buffer.getInt();
+
+            entries.put(new String(path, UTF_8), new Entry(size, lastModified, duration));
+        }
+    }
+
+    /**
+     * Identifies the content of a sound file.
+     */
+    static class Key {
+        final String path;
+        final long size;
+        final long lastModified;
+
+        Key(String path, long size, long lastModified) {
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+    }
+
+    private static class Entry {
+        final long size;
+        final long lastModified;
+        final int duration;
+
+        Entry(long size, long lastModified, int duration) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.duration = duration;
+        }
+    }
+}
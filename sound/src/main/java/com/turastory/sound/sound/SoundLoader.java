@@ -0,0 +1,372 @@
+package com.turastory.sound.sound;
+
+import android.media.MediaMetadataRetriever;
+import android.media.SoundPool;
+import android.os.Process;
+import android.util.Log;
+
+import com.annimon.stream.function.Consumer;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * Loads sounds into a {@link SoundPool} on a bounded pool of background threads.
+ * <p>
+ * {@link #loadAll(List, Runnable)} splits the sounds among the threads. Each thread reuses one
+ * {@link MediaMetadataRetriever} for all of its sounds and releases it when done.
+ * <p>
+ * With a {@link DurationCache}, durations of unchanged files are read from the cache,
+ * and a retriever is only created for the sounds missing from it.
+ * <p>
+ * {@link #loadLazily(Sound, Consumer)} loads a single sound on first use. The sound is handed over
+ * once the pool has decoded it, because playing it earlier does nothing.
+ * Each lazy sound moves from unloaded to loading with a CAS, so exactly one caller starts the load,
+ * and callers racing with it queue behind it. They all receive null if it fails, and the next use tries again.
+ * <p>
+ * After {@link #shutdown()}, pending and new callers receive null, and sounds that finish decoding are unloaded.
+ */
+class SoundLoader {
+
+    private static final int KEEP_ALIVE_SECONDS = 5;
+
+    private final SoundPool pool;
+    private final Sounds.Builder builder;
+    private final boolean withDuration;
+    private final DurationCache durationCache;
+    private final Map<String, RawSound> loaded;
+    private final ThreadPoolExecutor executor;
+
+    private final ConcurrentHashMap<String, LazyLoad> lazyLoads = new ConcurrentHashMap<>();
+
+    // Guarded by this, so a load event can't be handled before its sound ID is registered.
+    private final Map<Integer, LazyLoad> decoding = new HashMap<>();
+
+    // Written under this, so a sound is either published before shutdown or unloaded after it.
+    private volatile boolean shutdown;
+
+    /**
+     * @param durationCache null to always extract durations.
+     * @param loaded        where loaded sounds are put, by name.
+     */
+    SoundLoader(SoundPool pool, Sounds.Builder builder, boolean withDuration, DurationCache durationCache,
+                int threads, Map<String, RawSound> loaded) {
+        this.pool = pool;
+        this.builder = builder;
+        this.withDuration = withDuration;
+        this.durationCache = durationCache;
+        this.loaded = loaded;
+
+        // Threads go away when idle, so the pool costs nothing after startup.
+        this.executor = new ThreadPoolExecutor(threads, threads,
+            KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new LoaderThreadFactory());
+        this.executor.allowCoreThreadTimeOut(true);
+
+        pool.setOnLoadCompleteListener((soundPool, soundId, status) -> onDecoded(soundId, status));
+    }
+
+    /**
+     * Loads the sounds in parallel. onComplete runs on a loader thread once every sound is loaded or failed.
+     */
+    void loadAll(List<Sound> sounds, Runnable onComplete) {
+        if (sounds.isEmpty()) {
+            executor.execute(onComplete);
+            return;
+        }
+
+        AtomicInteger next = new AtomicInteger(0);
+        int workers = Math.min(executor.getMaximumPoolSize(), sounds.size());
+        AtomicInteger remaining = new AtomicInteger(workers);
+
+        for (int i = 0; i < workers; i++) {
+            executor.execute(() -> {
+                Retriever retriever = new Retriever();
+
+                try {
+                    int index;
+                    while (!shutdown && (index = next.getAndIncrement()) < sounds.size()) {
+                        RawSound rawSound = load(sounds.get(index), retriever);
+
+                        if (rawSound != null)
+                            publish(rawSound);
+                    }
+                } finally {
+                    retriever.release();
+
+                    if (remaining.decrementAndGet() == 0) {
+                        saveDurations();
+
+                        // Unloaded before loading finished, so the sounds must not become ready.
+                        if (!shutdown)
+                            onComplete.run();
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Loads the sound and passes it to onLoaded once it can be played, or null if it can't be loaded.
+     * onLoaded runs on the thread that receives the pool's load events, the main thread by default,
+     * or on a loader thread if loading fails before the pool is involved.
+     * If the sound is already loaded, onLoaded runs right away on the calling thread.
+     */
+    void loadLazily(Sound sound, Consumer<RawSound> onLoaded) {
+        LazyLoad load = lazyLoad(sound.getName());
+
+        if (load.state.get() == LazyLoad.LOADED) {
+            onLoaded.accept(load.rawSound);
+            return;
+        }
+
+        // Queued before reading the state, so whoever finishes the load after this sees it.
+        load.waiting.add(onLoaded);
+
+        // Checked after queueing, so either shutdown() answers this caller or it is answered here.
+        if (shutdown) {
+            deliver(load, null);
+            return;
+        }
+
+        while (true) {
+            int state = load.state.get();
+
+            if (state == LazyLoad.LOADING)
+                return;
+
+            if (state == LazyLoad.LOADED) {
+                deliver(load, load.rawSound);
+                return;
+            }
+
+            if (load.state.compareAndSet(LazyLoad.UNLOADED, LazyLoad.LOADING)) {
+                try {
+                    executor.execute(() -> load(sound, load));
+                } catch (RejectedExecutionException e) {
+                    // Shut down since the check above.
+                    abandon(load);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Stops loading. Callers waiting for a lazy sound receive null.
+     */
+    void shutdown() {
+        synchronized (this) {
+            shutdown = true;
+        }
+
+        executor.shutdownNow();
+
+        // Queued loads never run and running ones may be interrupted, so their callers are answered here.
+        for (LazyLoad load : lazyLoads.values())
+            deliver(load, null);
+    }
+
+    private RawSound load(Sound sound, Retriever retriever) {
+        try {
+            int duration = withDuration ? duration(sound, retriever) : 0;
+            int soundId = builder.loadSound(pool, sound);
+            return new RawSound(sound.getName(), soundId, sound.getPitch(), duration);
+        } catch (IOException | RuntimeException e) {
+            Log.e("Sounds", "Failed to load sound '" + sound.getName() + "'", e);
+            return null;
+        }
+    }
+
+    private int duration(Sound sound, Retriever retriever) throws IOException {
+        if (durationCache == null)
+            return builder.extractDuration(sound, retriever.get());
+
+        DurationCache.Key key = builder.durationCacheKey(sound);
+        int duration = durationCache.get(key);
+
+        if (duration == DurationCache.MISSING) {
+            duration = builder.extractDuration(sound, retriever.get());
+            durationCache.put(key, duration);
+        }
+
+        return duration;
+    }
+
+    private void saveDurations() {
+        if (durationCache != null)
+            durationCache.save();
+    }
+
+    private LazyLoad lazyLoad(String name) {
+        LazyLoad load = lazyLoads.get(name);
+
+        if (load == null) {
+            lazyLoads.putIfAbsent(name, new LazyLoad());
+            load = lazyLoads.get(name);
+        }
+
+        return load;
+    }
+
+    private void load(Sound sound, LazyLoad load) {
+        int duration = 0;
+
+        if (withDuration) {
+            Retriever retriever = new Retriever();
+
+            try {
+                duration = duration(sound, retriever);
+            } catch (IOException | RuntimeException e) {
+                fail(sound, load, e);
+                return;
+            } finally {
+                retriever.release();
+            }
+
+            saveDurations();
+        }
+
+        try {
+            synchronized (this) {
+                if (!shutdown) {
+                    int soundId = builder.loadSound(pool, sound);
+                    load.rawSound = new RawSound(sound.getName(), soundId, sound.getPitch(), duration);
+                    decoding.put(soundId, load);
+                    return;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            fail(sound, load, e);
+            return;
+        }
+
+        abandon(load);
+    }
+
+    private void fail(Sound sound, LazyLoad load, Exception e) {
+        Log.e("Sounds", "Failed to load sound '" + sound.getName() + "'", e);
+        abandon(load);
+    }
+
+    /**
+     * Puts the sound back to unloaded, so the next use tries again, and gives null to its callers.
+     */
+    private static void abandon(LazyLoad load) {
+        load.rawSound = null;
+        load.state.set(LazyLoad.UNLOADED);
+        deliver(load, null);
+    }
+
+    /**
+     * Adds the sound to the loaded ones, or unloads it if the loader was shut down meanwhile.
+     *
+     * @return true if the sound was added.
+     */
+    private synchronized boolean publish(RawSound rawSound) {
+        if (shutdown) {
+            pool.unload(rawSound.getSoundId());
+            return false;
+        }
+
+        loaded.put(rawSound.getName(), rawSound);
+        return true;
+    }
+
+    private void onDecoded(int soundId, int status) {
+        LazyLoad load;
+
+        synchronized (this) {
+            load = decoding.remove(soundId);
+        }
+
+        // Loaded by loadAll. Once shut down, nothing unloads it but this.
+        if (load == null) {
+            if (shutdown)
+                pool.unload(soundId);
+            return;
+        }
+
+        RawSound rawSound = load.rawSound;
+
+        if (status != 0) {
+            Log.e("Sounds", "Failed to decode sound '" + rawSound.getName() + "'");
+            pool.unload(soundId);
+            abandon(load);
+        } else if (publish(rawSound)) {
+            load.state.set(LazyLoad.LOADED);
+            deliver(load, rawSound);
+        } else {
+            abandon(load);
+        }
+    }
+
+    /**
+     * Hands the result to every queued caller. Polling makes sure each gets it once,
+     * even when a late caller drains the queue at the same time.
+     */
+    private static void deliver(LazyLoad load, RawSound rawSound) {
+        Consumer<RawSound> consumer;
+
+        while ((consumer = load.waiting.poll()) != null)
+            consumer.accept(rawSound);
+    }
+
+    /**
+     * State of one lazy sound: UNLOADED, then LOADING, then LOADED, or back to UNLOADED if the load fails.
+     */
+    private static class LazyLoad {
+        static final int UNLOADED = 0;
+        static final int LOADING = 1;
+        static final int LOADED = 2;
+
+        final AtomicInteger state = new AtomicInteger(UNLOADED);
+        final Queue<Consumer<RawSound>> waiting = new ConcurrentLinkedQueue<>();
+
+        // Written before the state moves on, read after it did.
+        volatile RawSound rawSound;
+    }
+
+    /**
+     * Creates the retriever on first use, so sounds found in the cache don't need one.
+     */
+    private static class Retriever {
+        private MediaMetadataRetriever retriever;
+
+        MediaMetadataRetriever get() {
+            if (retriever == null)
+                retriever = new MediaMetadataRetriever();
+
+            return retriever;
+        }
+
+        void release() {
+            if (retriever != null)
+                retriever.release();
+        }
+    }
+
+    private static class LoaderThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger(0);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            return new Thread(() -> {
+                Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                runnable.run();
+            }, "sounds-loader-" + count.incrementAndGet());
+        }
+    }
+}
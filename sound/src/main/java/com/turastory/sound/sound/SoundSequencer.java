@@ -0,0 +1,155 @@
+package com.turastory.sound.sound;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Process;
+import android.os.SystemClock;
+
+import java.util.List;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * Plays sounds one after another without a busy-waiting thread.
+ * <p>
+ * Every clip of a sequence is posted up front at an absolute uptime, computed from the sequence start
+ * and the durations of the previous clips. Late delivery of one clip doesn't shift the following ones,
+ * so timing doesn't drift over a long sequence.
+ * Clips are started on a dedicated thread with audio priority, so UI work doesn't delay them.
+ * <p>
+ * Time and posting go through {@link Scheduler}, so tests can run a sequence on virtual time.
+ */
+class SoundSequencer {
+    
+    interface Player {
+        void play(RawSound sound);
+        
+        void stop();
+    }
+    
+    /**
+     * Posts callbacks at absolute times, like {@link Handler#postAtTime(Runnable, Object, long)}.
+     */
+    interface Scheduler {
+        long now();
+        
+        void postAtTime(Runnable runnable, Object token, long uptimeMillis);
+        
+        void cancel(Object token);
+        
+        void release();
+    }
+    
+    private final Player player;
+    private final Scheduler scheduler;
+    
+    // Identifies the callbacks of the current sequence.
+    private volatile Object token;
+    
+    SoundSequencer(Player player, Scheduler scheduler) {
+        this.player = player;
+        this.scheduler = scheduler;
+    }
+    
+    /**
+     * Starts a new sequence, replacing the one being played.
+     */
+    synchronized void start(List<RawSound> sounds, Runnable onFinishListener) {
+        cancel();
+        
+        Object token = new Object();
+        this.token = token;
+        
+        long at = scheduler.now();
+        
+        for (RawSound sound : sounds) {
+            scheduler.postAtTime(() -> player.play(sound), token, at);
+            at += playbackDuration(sound);
+        }
+        
+        scheduler.postAtTime(() -> {
+            if (this.token == token) {
+                this.token = null;
+                
+                if (onFinishListener != null)
+                    onFinishListener.run();
+            }
+        }, token, at);
+    }
+    
+    synchronized void stop() {
+        if (cancel())
+            player.stop();
+    }
+    
+    synchronized void release() {
+        stop();
+        scheduler.release();
+    }
+    
+    boolean isPlaying() {
+        return token != null;
+    }
+    
+    /**
+     * Sounds with a rate above 1 play faster, so they end earlier.
+     */
+    static long playbackDuration(RawSound sound) {
+        float rate = sound.getRate() > 0 ? sound.getRate() : 1;
+        return Math.round(sound.getDuration() / rate);
+    }
+    
+    private boolean cancel() {
+        Object token = this.token;
+        
+        if (token == null)
+            return false;
+        
+        scheduler.cancel(token);
+        this.token = null;
+        return true;
+    }
+    
+    /**
+     * Posts to a thread with audio priority, started on first use.
+     */
+    static class AudioThreadScheduler implements Scheduler {
+        private HandlerThread thread;
+        private Handler handler;
+        
+        @Override
+        public long now() {
+            return SystemClock.uptimeMillis();
+        }
+        
+        @Override
+        public void postAtTime(Runnable runnable, Object token, long uptimeMillis) {
+            handler().postAtTime(runnable, token, uptimeMillis);
+        }
+        
+        @Override
+        public void cancel(Object token) {
+            if (handler != null)
+                handler.removeCallbacksAndMessages(token);
+        }
+        
+        @Override
+        public void release() {
+            if (thread != null) {
+                thread.quit();
+                thread = null;
+                handler = null;
+            }
+        }
+        
+        private Handler handler() {
+            if (handler == null) {
+                thread = new HandlerThread("sounds-sequencer", Process.THREAD_PRIORITY_AUDIO);
+                thread.start();
+                handler = new Handler(thread.getLooper());
+            }
+            
+            return handler;
+        }
+    }
+}
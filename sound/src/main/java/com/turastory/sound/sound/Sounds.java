@@ -2,7 +2,6 @@ package com.turastory.sound.sound;
 
 import android.content.Context;
 import android.content.res.AssetFileDescriptor;
-import android.content.res.AssetManager;
 import android.media.AudioAttributes;
 import android.media.AudioManager;
 import android.media.MediaMetadataRetriever;
@@ -14,13 +13,13 @@ import com.annimon.stream.Collectors;
 import com.annimon.stream.Stream;
 import com.annimon.stream.function.Consumer;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -35,14 +34,25 @@ public class Sounds {
     private AtomicBoolean isReady = new AtomicBoolean(false);
     private AtomicInteger playStreamId = new AtomicInteger(0);
     private SoundPool pool;
-    private Map<String, RawSound> rawSounds;
+    private Map<String, RawSound> rawSounds = new ConcurrentHashMap<>();
+    private Map<String, Sound> lazySounds = new ConcurrentHashMap<>();
+    private SoundLoader loader;
     
     private boolean sequentialPlayback = false;
-    private AtomicBoolean playingSequential = new AtomicBoolean(false);
-    private Queue<RawSound> sequentialPlayQueue = new LinkedBlockingQueue<>();
-    
-    private Sounds() {
+    private SoundSequencer sequencer;
     
+    private Sounds(SoundSequencer.Scheduler scheduler) {
+        sequencer = new SoundSequencer(new SoundSequencer.Player() {
+            @Override
+            public void play(RawSound sound) {
+                Sounds.this.play(sound);
+            }
+            
+            @Override
+            public void stop() {
+                Sounds.this.stop();
+            }
+        }, scheduler);
     }
     
     public static Sounds global() {
@@ -64,6 +74,13 @@ public class Sounds {
     
     // Unload all sounds.
     public void unloadAll() {
+        // First, so no new use starts a load or a sequence on what is being released.
+        isReady.set(false);
+        sequencer.release();
+        
+        if (loader != null)
+            loader.shutdown();
+        
         Stream.of(rawSounds)
             .forEach(entry -> pool.unload(entry.getValue().getSoundId()));
     }
@@ -75,16 +92,21 @@ public class Sounds {
      */
     public void play(String name) {
         use(name, sound -> {
-            int success = pool.play(sound.getSoundId(), 1, 1, 1, 0, sound.getRate());
-    
-            if (success == 0) {
-                Log.e("Sounds", "Failed to play sound '" + name + "'");
-            } else {
-                playStreamId.set(success);
-            }
+            if (sound != null)
+                play(sound);
         });
     }
     
+    private void play(RawSound sound) {
+        int success = pool.play(sound.getSoundId(), 1, 1, 1, 0, sound.getRate());
+        
+        if (success == 0) {
+            Log.e("Sounds", "Failed to play sound '" + sound.getName() + "'");
+        } else {
+            playStreamId.set(success);
+        }
+    }
+    
     /**
      * Stop recent played sound.
      */
@@ -106,52 +128,53 @@ public class Sounds {
             return;
         }
         
-        playingSequential.set(false);
-        sequentialPlayQueue.clear();
+        if (!isReady.get()) {
+            Log.e("Sounds", "Sounds has not ready yet.");
+            return;
+        }
         
-        Stream.of(names).forEach(name -> use(name, sound -> {
-            sequentialPlayQueue.add(sound);
-        }));
+        // Checked before any load starts, so the error reaches the caller instead of a load callback.
+        for (String name : names) {
+            if (!rawSounds.containsKey(name) && !lazySounds.containsKey(name))
+                throw new RuntimeException("Sound with " + name + " does not exist.");
+        }
         
-        if (sequentialPlayQueue.size() == 0)
-            return;
+        List<String> unloaded = Stream.of(names)
+            .filter(name -> !rawSounds.containsKey(name) && lazySounds.containsKey(name))
+            .collect(Collectors.toList());
         
-        new Thread(() -> {
-            int playTime = 0;
-            playingSequential.set(true);
-            
-            // Initial
-            RawSound rawSound = sequentialPlayQueue.remove();
-            play(rawSound.getName());
+        // Start once every lazy sound of the sequence is loaded or failed, so durations are known.
+        if (unloaded.size() > 0) {
+            AtomicInteger remaining = new AtomicInteger(unloaded.size());
             
-            while (true) {
-                if (!playingSequential.get()) {
-                    stop();
-                    break;
-                }
-                
-                if (playTime > rawSound.getDuration()) {
-                    playTime -= rawSound.getDuration();
+            Stream.of(unloaded).forEach(name -> use(name, sound -> {
+                // Not started if everything was unloaded while loading.
+                if (remaining.decrementAndGet() == 0 && isReady.get())
+                    startSequence(names, onFinishListener);
+            }));
+            return;
+        }
+        
+        startSequence(names, onFinishListener);
+    }
     
-                    if (sequentialPlayQueue.size() > 0) {
-                        rawSound = sequentialPlayQueue.remove();
-                        play(rawSound.getName());
-                    } else {
-                        playingSequential.set(false);
-                        onFinishListener.run();
-                        stop();
-                        break;
-                    }
-                }
-                
-                try {
-                    Thread.sleep(2);
-                    playTime += 2;
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
+    private void startSequence(List<String> names, Runnable onFinishListener) {
+        List<RawSound> sequence = new ArrayList<>(names.size());
+        
+        for (String name : names) {
+            RawSound sound = rawSounds.get(name);
+            
+            // Names were checked up front, so a missing sound is a lazy one that failed to load.
+            if (sound != null) {
+                sequence.add(sound);
+            } else {
+                Log.e("Sounds", "Skipping sound '" + name + "' which failed to load.");
             }
-        }).start();
+        }
+        
+        // Clips are scheduled from their durations, no thread waits for them to end.
+        // Without any clip left, the sequence finishes right away.
+        sequencer.start(sequence, onFinishListener);
     }
     
     public void stopSequential() {
@@ -160,9 +183,13 @@ public class Sounds {
             return;
         }
         
-        playingSequential.set(false);
+        sequencer.stop();
     }
     
+    /**
+     * Passes the sound to soundConsumer, after loading it if it is lazy.
+     * soundConsumer receives null if a lazy sound failed to load.
+     */
     private void use(String name, Consumer<RawSound> soundConsumer) {
         if (!isReady.get()) {
             Log.e("Sounds", "Sounds has not ready yet.");
@@ -173,6 +200,13 @@ public class Sounds {
         
         if (sound != null) {
             soundConsumer.accept(sound);
+            return;
+        }
+        
+        Sound lazySound = lazySounds.get(name);
+        
+        if (lazySound != null) {
+            loader.loadLazily(lazySound, soundConsumer);
         } else {
             throw new RuntimeException("Sound with " + name + " does not exist.");
         }
@@ -185,6 +219,16 @@ public class Sounds {
         // Get duration of the sound.
         public static int getDuration(Consumer<MediaMetadataRetriever> dataSourceConfigurator) {
             MediaMetadataRetriever mmr = new MediaMetadataRetriever();
+            
+            try {
+                return getDuration(mmr, dataSourceConfigurator);
+            } finally {
+                mmr.release();
+            }
+        }
+        
+        // Get duration of the sound with a retriever released by the caller, to reuse it for many sounds.
+        public static int getDuration(MediaMetadataRetriever mmr, Consumer<MediaMetadataRetriever> dataSourceConfigurator) {
             dataSourceConfigurator.accept(mmr);
             return Integer.parseInt(mmr.extractMetadata(MediaMetadataRetriever.METADATA_KEY_DURATION));
         }
@@ -195,11 +239,15 @@ public class Sounds {
      */
     public static abstract class Builder {
         protected List<Sound> sounds;
+        protected List<Sound> lazySounds;
         protected boolean sequentialPlayback = false;
         private int maxStreamSizeAtOnce = 3;
+        private int loaderThreads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        private File durationCacheFile;
         
-        private Builder() {
+        Builder() {
             sounds = new ArrayList<>();
+            lazySounds = new ArrayList<>();
         }
         
         public Builder setMaxStreamSizeAtOnce(int maxStreamSizeAtOnce) {
@@ -207,33 +255,53 @@ public class Sounds {
             return this;
         }
     
+        // Number of threads loading sounds in parallel.
+        public Builder setLoaderThreads(int loaderThreads) {
+            this.loaderThreads = Math.max(1, loaderThreads);
+            return this;
+        }
+    
         // Avoid calculating duration of the sounds.
         public Builder enableSequentialPlayback() {
             this.sequentialPlayback = true;
             return this;
         }
     
-        // Should load sounds in another thread because
+        // Keep durations in the file, so unchanged sounds are not measured again on the next launch.
+        // Only used with sequential playback.
+        public Builder enableDurationCache(File durationCacheFile) {
+            this.durationCacheFile = durationCacheFile;
+            return this;
+        }
+    
+        // Should load sounds in other threads because
         // If there're a lot of sounds It may take some time to load them all.
+        // Lazy sounds are not loaded here, so they don't delay onLoadComplete.
         public Sounds load(Runnable onLoadComplete) {
-            SoundPool pool = createSoundPool(maxStreamSizeAtOnce);
-            Sounds sounds = new Sounds();
+            return load(createSoundPool(maxStreamSizeAtOnce), new SoundSequencer.AudioThreadScheduler(), onLoadComplete);
+        }
+        
+        // Lets tests provide the pool and run sequences on virtual time.
+        Sounds load(SoundPool pool, SoundSequencer.Scheduler scheduler, Runnable onLoadComplete) {
+            Sounds sounds = new Sounds(scheduler);
             
-            new Thread(() -> {
-                Log.e("Sounds", "load sounds..");
-                sounds.isReady.set(false);
-                
-                Map<String, RawSound> rawSounds = loadRawSounds(pool);
-                sounds.pool = pool;
-                sounds.rawSounds = rawSounds;
-                sounds.sequentialPlayback = sequentialPlayback;
-    
+            sounds.pool = pool;
+            sounds.sequentialPlayback = sequentialPlayback;
+            DurationCache durationCache = durationCacheFile != null ? new DurationCache(durationCacheFile) : null;
+            sounds.loader = new SoundLoader(pool, this, sequentialPlayback, durationCache, loaderThreads, sounds.rawSounds);
+            
+            for (Sound sound : lazySounds)
+                sounds.lazySounds.put(sound.getName(), sound);
+            
+            Log.e("Sounds", "load sounds..");
+            
+            sounds.loader.loadAll(new ArrayList<>(this.sounds), () -> {
                 sounds.isReady.set(true);
                 Log.e("Sounds", "load sounds Complete!");
-    
+                
                 if (onLoadComplete != null)
                     onLoadComplete.run();
-            }).start();
+            });
     
             return sounds;
         }
@@ -247,7 +315,20 @@ public class Sounds {
             return this;
         }
         
-        public abstract Map<String, RawSound> loadRawSounds(SoundPool pool);
+        // Load a sound which is played when it is used for the first time.
+        public Builder addLazySound(Sound sound) {
+            lazySounds.add(sound);
+            return this;
+        }
+        
+        // Called on loader threads.
+        abstract int loadSound(SoundPool pool, Sound sound) throws IOException;
+        
+        // Called on loader threads, with a retriever that may have been used for other sounds.
+        abstract int extractDuration(Sound sound, MediaMetadataRetriever retriever) throws IOException;
+        
+        // Called on loader threads. Identifies the content of the sound, which changes when the file changes.
+        abstract DurationCache.Key durationCacheKey(Sound sound) throws IOException;
         
         private SoundPool createSoundPool(int maxStreamSize) {
             SoundPool sound;
@@ -278,37 +359,57 @@ public class Sounds {
         }
         
         @Override
-        public Map<String, RawSound> loadRawSounds(SoundPool pool) {
-            AssetManager assets = context.getAssets();
+        int loadSound(SoundPool pool, Sound sound) throws IOException {
+            AssetFileDescriptor afd = context.getAssets().openFd(sound.getPath());
             
-            return Stream.of(sounds).map(sound -> {
-                try {
-                    final AssetFileDescriptor afd = assets.openFd(sound.getPath());
-    
-                    int soundId = pool.load(afd, 1);
-                    int duration = sequentialPlayback ?
-                        Util.getDuration(mmr -> mmr.setDataSource(afd.getFileDescriptor(), afd.getStartOffset(), afd.getLength())) :
-                        0;
-    
-                    return new RawSound(sound.getName(), soundId, sound.getPitch(), duration);
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
-                }
-            }).collect(Collectors.toMap(RawSound::getName, rawSound -> rawSound));
+            try {
+                return pool.load(afd, 1);
+            } finally {
+                afd.close();
+            }
+        }
+        
+        @Override
+        int extractDuration(Sound sound, MediaMetadataRetriever retriever) throws IOException {
+            AssetFileDescriptor afd = context.getAssets().openFd(sound.getPath());
+            
+            try {
+                return Util.getDuration(retriever, mmr ->
+                    mmr.setDataSource(afd.getFileDescriptor(), afd.getStartOffset(), afd.getLength()));
+            } finally {
+                afd.close();
+            }
+        }
+        
+        // Assets have no modification time, they change with the APK.
+        @Override
+        DurationCache.Key durationCacheKey(Sound sound) throws IOException {
+            AssetFileDescriptor afd = context.getAssets().openFd(sound.getPath());
+            
+            try {
+                long apkModified = new File(context.getApplicationInfo().sourceDir).lastModified();
+                return new DurationCache.Key("asset:" + sound.getPath(), afd.getLength(), apkModified);
+            } finally {
+                afd.close();
+            }
         }
     }
     
     private static class FileBuilder extends Builder {
         @Override
-        public Map<String, RawSound> loadRawSounds(SoundPool pool) {
-            return Stream.of(sounds).map(sound -> {
-                int soundId = pool.load(sound.getPath(), 1);
-                int duration = sequentialPlayback ?
-                    Util.getDuration(mmr -> mmr.setDataSource(sound.getPath())) :
-                    0;
-                
-                return new RawSound(sound.getName(), soundId, sound.getPitch(), duration);
-            }).collect(Collectors.toMap(RawSound::getName, rawSound -> rawSound));
+        int loadSound(SoundPool pool, Sound sound) {
+            return pool.load(sound.getPath(), 1);
+        }
+        
+        @Override
+        int extractDuration(Sound sound, MediaMetadataRetriever retriever) {
+            return Util.getDuration(retriever, mmr -> mmr.setDataSource(sound.getPath()));
+        }
+        
+        @Override
+        DurationCache.Key durationCacheKey(Sound sound) {
+            File file = new File(sound.getPath());
+            return new DurationCache.Key(file.getAbsolutePath(), file.length(), file.lastModified());
         }
     }
 }
@@ -0,0 +1,180 @@
+package com.turastory.sound.sound;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Created by tura on 2026-10-18.
+ */
+public class DurationCacheTest {
+
+    private static final DurationCache.Key A = new DurationCache.Key("/sdcard/a.ogg", 1000, 50_000);
+    private static final DurationCache.Key B = new DurationCache.Key("asset:sounds/b.ogg", 2000, 60_000);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+
+    @Before
+    public void setUp() {
+        file = new File(folder.getRoot(), "durations");
+    }
+
+    @Test
+    public void test_roundTrip() {
+        DurationCache cache = new DurationCache(file);
+        assertThat(cache.get(A), is(DurationCache.MISSING));
+
+        cache.put(A, 1234);
+        cache.put(B, 56);
+        cache.save();
+
+        DurationCache reopened = new DurationCache(file);
+        assertThat(reopened.get(A), is(1234));
+        assertThat(reopened.get(B), is(56));
+        assertThat(new File(file.getPath() + ".tmp").exists(), is(false));
+    }
+
+    @Test
+    public void test_nonAsciiPath() {
+        DurationCache.Key key = new DurationCache.Key("/sdcard/효과음/딩동.ogg", 10, 20);
+
+        DurationCache cache = new DurationCache(file);
+        cache.put(key, 300);
+        cache.save();
+
+        assertThat(new DurationCache(file).get(key), is(300));
+    }
+
+    @Test
+    public void test_changedFileIsMissing() {
+        DurationCache cache = new DurationCache(file);
+        cache.put(A, 1234);
+        cache.save();
+
+        DurationCache reopened = new DurationCache(file);
+        assertThat(reopened.get(new DurationCache.Key(A.path, A.size + 1, A.lastModified)), is(DurationCache.MISSING));
+        assertThat(reopened.get(new DurationCache.Key(A.path, A.size, A.lastModified + 1)), is(DurationCache.MISSING));
+        assertThat(reopened.get(new DurationCache.Key("/sdcard/other.ogg", A.size, A.lastModified)), is(DurationCache.MISSING));
+        assertThat(reopened.get(A), is(1234));
+    }
+
+    @Test
+    public void test_putReplacesChangedEntry() {
+        DurationCache cache = new DurationCache(file);
+        cache.put(A, 1234);
+        cache.save();
+
+        DurationCache.Key changed = new DurationCache.Key(A.path, A.size, A.lastModified + 1);
+        DurationCache reopened = new DurationCache(file);
+        reopened.put(changed, 999);
+        reopened.save();
+
+        DurationCache last = new DurationCache(file);
+        assertThat(last.get(changed), is(999));
+        assertThat(last.get(A), is(DurationCache.MISSING));
+    }
+
+    @Test
+    public void test_saveWithoutChangesDoesNotWrite() {
+        DurationCache cache = new DurationCache(file);
+        assertThat(cache.get(A), is(DurationCache.MISSING));
+        cache.save();
+
+        assertThat(file.exists(), is(false));
+    }
+
+    @Test
+    public void test_truncatedFileStartsOver() throws IOException {
+        DurationCache cache = new DurationCache(file);
+        cache.put(A, 1234);
+        cache.put(B, 56);
+        cache.save();
+
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.setLength(raf.length() - 3);
+        } finally {
+            raf.close();
+        }
+
+        // Nothing from the damaged file is used, and the next save replaces it.
+        DurationCache damaged = new DurationCache(file);
+        assertThat(damaged.get(A), is(DurationCache.MISSING));
+        assertThat(damaged.get(B), is(DurationCache.MISSING));
+
+        damaged.put(A, 1234);
+        damaged.save();
+
+        DurationCache repaired = new DurationCache(file);
+        assertThat(repaired.get(A), is(1234));
+        assertThat(repaired.get(B), is(DurationCache.MISSING));
+    }
+
+    @Test
+    public void test_emptyFileIsIgnored() throws IOException {
+        assertThat(file.createNewFile(), is(true));
+
+        assertThat(new DurationCache(file).get(A), is(DurationCache.MISSING));
+    }
+
+    @Test
+    public void test_corruptedHeaderIsIgnored() throws IOException {
+        writeHeader(0x12345678, 1, 1);
+
+        assertThat(new DurationCache(file).get(A), is(DurationCache.MISSING));
+    }
+
+    @Test
+    public void test_unknownVersionIsIgnored() throws IOException {
+        DurationCache cache = new DurationCache(file);
+        cache.put(A, 1234);
+        cache.save();
+
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.seek(4);
+            raf.writeInt(2);
+        } finally {
+            raf.close();
+        }
+
+        assertThat(new DurationCache(file).get(A), is(DurationCache.MISSING));
+    }
+
+    @Test
+    public void test_entryCountBeyondFileIsIgnored() throws IOException {
+        writeHeader(0x534e4443, 1, Integer.MAX_VALUE);
+
+        DurationCache cache = new DurationCache(file);
+        assertThat(cache.get(A), is(DurationCache.MISSING));
+
+        cache.put(A, 1234);
+        cache.save();
+        assertThat(new DurationCache(file).get(A), is(1234));
+    }
+
+    private void writeHeader(int magic, int version, int count) throws IOException {
+        DataOutputStream out = new DataOutputStream(new FileOutputStream(file));
+
+        try {
+            out.writeInt(magic);
+            out.writeInt(version);
+            out.writeInt(count);
+        } finally {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.turastory.sound.sound;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * {@link SoundSequencer.Scheduler} on virtual time, run by the test thread.
+ * Callbacks due at the same time run in the order they were posted, like a Handler.
+ */
+class FakeScheduler implements SoundSequencer.Scheduler {
+
+    private final List<Posted> posted = new ArrayList<>();
+    private long now;
+    private boolean released;
+
+    FakeScheduler(long now) {
+        this.now = now;
+    }
+
+    @Override
+    public long now() {
+        return now;
+    }
+
+    @Override
+    public synchronized void postAtTime(Runnable runnable, Object token, long uptimeMillis) {
+        posted.add(new Posted(runnable, token, uptimeMillis));
+        notifyAll();
+    }
+
+    @Override
+    public synchronized void cancel(Object token) {
+        for (int i = posted.size() - 1; i >= 0; i--) {
+            if (posted.get(i).token == token)
+                posted.remove(i);
+        }
+    }
+
+    @Override
+    public void release() {
+        released = true;
+    }
+
+    boolean isReleased() {
+        return released;
+    }
+
+    synchronized int pendingCount() {
+        return posted.size();
+    }
+
+    /**
+     * Waits for callbacks posted from another thread, e.g. a sequence started by a loader thread.
+     */
+    synchronized void awaitPending(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 1000;
+
+        while (posted.size() < count) {
+            long remaining = deadline - System.currentTimeMillis();
+
+            if (remaining <= 0)
+                throw new AssertionError("Nothing was posted");
+
+            wait(remaining);
+        }
+    }
+
+    /**
+     * Moves the clock without running anything, as if the thread was busy.
+     */
+    void sleep(long millis) {
+        now += millis;
+    }
+
+    /**
+     * Runs the callbacks due by now + millis, each at its own time, and ends at now + millis.
+     */
+    void advanceBy(long millis) {
+        long target = now + millis;
+        Posted next;
+
+        while ((next = poll(target)) != null) {
+            now = Math.max(now, next.time);
+            next.runnable.run();
+        }
+
+        now = target;
+    }
+
+    void runUntilIdle() {
+        advanceBy(Long.MAX_VALUE / 2 - now);
+    }
+
+    private synchronized Posted poll(long target) {
+        Posted first = null;
+
+        for (Posted candidate : posted) {
+            if (candidate.time <= target && (first == null || candidate.time < first.time))
+                first = candidate;
+        }
+
+        posted.remove(first);
+        return first;
+    }
+
+    private static class Posted {
+        final Runnable runnable;
+        final Object token;
+        final long time;
+
+        Posted(Runnable runnable, Object token, long time) {
+            this.runnable = runnable;
+            this.token = token;
+            this.time = time;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.turastory.sound.sound;
+
+import android.media.AudioManager;
+import android.media.SoundPool;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * Records what is played and unloaded. Load events are sent by the test with {@link #complete(int, int)}.
+ */
+class FakeSoundPool extends SoundPool {
+
+    final List<Integer> played = new ArrayList<>();
+    final List<Integer> unloaded = new ArrayList<>();
+
+    private OnLoadCompleteListener listener;
+    private int streams;
+
+    @SuppressWarnings("deprecation")
+    FakeSoundPool() {
+        super(1, AudioManager.STREAM_MUSIC, 0);
+    }
+
+    @Override
+    public void setOnLoadCompleteListener(OnLoadCompleteListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public synchronized int play(int soundId, float leftVolume, float rightVolume, int priority, int loop, float rate) {
+        played.add(soundId);
+        return ++streams;
+    }
+
+    @Override
+    public synchronized boolean unload(int soundId) {
+        unloaded.add(soundId);
+        return true;
+    }
+
+    /**
+     * @param status 0 if the sound was decoded.
+     */
+    void complete(int soundId, int status) {
+        listener.onLoadComplete(this, soundId, status);
+    }
+
+    synchronized List<Integer> played() {
+        return new ArrayList<>(played);
+    }
+
+    synchronized List<Integer> unloaded() {
+        return new ArrayList<>(unloaded);
+    }
+}
@@ -0,0 +1,219 @@
+package com.turastory.sound.sound;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by tura on 2026-10-18.
+ */
+public class SoundLoaderTest {
+
+    private final FakeSoundPool pool = new FakeSoundPool();
+    private final TestBuilder builder = new TestBuilder();
+    private final Map<String, RawSound> loaded = new ConcurrentHashMap<>();
+    private final Sound lazy = new Sound("lazy", "200", 1.5f);
+
+    private SoundLoader loader;
+
+    @Before
+    public void setUp() {
+        loader = new SoundLoader(pool, builder, true, null, 2, loaded);
+    }
+
+    @After
+    public void tearDown() {
+        loader.shutdown();
+    }
+
+    @Test
+    public void test_loadAllLoadsEverySound() throws Exception {
+        List<Sound> sounds = new ArrayList<>();
+        for (int i = 0; i < 10; i++)
+            sounds.add(new Sound("s" + i, String.valueOf(i * 10), 1));
+        sounds.add(new Sound("broken", TestBuilder.BROKEN, 1));
+
+        AtomicInteger completions = new AtomicInteger();
+        CountDownLatch complete = new CountDownLatch(1);
+        loader.loadAll(sounds, () -> {
+            completions.incrementAndGet();
+            complete.countDown();
+        });
+
+        assertTrue(complete.await(1, TimeUnit.SECONDS));
+        assertThat(completions.get(), is(1));
+        assertThat(loaded.size(), is(10));
+        assertThat(loaded.get("s7").getDuration(), is(70));
+        assertThat(loaded.containsKey("broken"), is(false));
+    }
+
+    @Test
+    public void test_emptyLoadAllCompletes() throws Exception {
+        CountDownLatch complete = new CountDownLatch(1);
+        loader.loadAll(Collections.<Sound>emptyList(), complete::countDown);
+
+        assertTrue(complete.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void test_lazySoundIsHandedOverOnceDecoded() throws Exception {
+        List<RawSound> received = new ArrayList<>();
+        loader.loadLazily(lazy, received::add);
+        loader.loadLazily(lazy, received::add);
+
+        int soundId = builder.awaitLoad("lazy");
+        assertThat(received.size(), is(0));
+
+        pool.complete(soundId, 0);
+
+        assertThat(received.size(), is(2));
+        assertThat(received.get(0), is(sameInstance(received.get(1))));
+        assertThat(received.get(0).getSoundId(), is(soundId));
+        assertThat(received.get(0).getDuration(), is(200));
+        assertThat(received.get(0).getRate(), is(1.5f));
+        assertThat(loaded.get("lazy"), is(sameInstance(received.get(0))));
+        assertThat(builder.loadCount("lazy"), is(1));
+    }
+
+    @Test
+    public void test_useAfterDecodedDoesNotLoadAgain() throws Exception {
+        loader.loadLazily(lazy, sound -> {
+        });
+        pool.complete(builder.awaitLoad("lazy"), 0);
+
+        // A caller that checked the loaded sounds just before the load finished.
+        List<RawSound> received = new ArrayList<>();
+        loader.loadLazily(lazy, received::add);
+
+        assertThat(received.size(), is(1));
+        assertThat(builder.loadCount("lazy"), is(1));
+    }
+
+    @Test
+    public void test_concurrentUsesLoadOnce() throws Exception {
+        int threads = 8;
+        int usesPerThread = 200;
+        List<RawSound> received = Collections.synchronizedList(new ArrayList<RawSound>());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> users = new ArrayList<>();
+
+        for (int i = 0; i < threads; i++) {
+            Thread user = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+
+                for (int j = 0; j < usesPerThread; j++)
+                    loader.loadLazily(lazy, received::add);
+            });
+            user.start();
+            users.add(user);
+        }
+
+        start.countDown();
+        // Decoded while the users keep asking for it.
+        pool.complete(builder.awaitLoad("lazy"), 0);
+
+        for (Thread user : users)
+            user.join(1000);
+
+        assertThat(received.size(), is(threads * usesPerThread));
+        for (RawSound sound : received)
+            assertThat(sound, is(sameInstance(loaded.get("lazy"))));
+        assertThat(builder.loadCount("lazy"), is(1));
+        assertThat(pool.unloaded().size(), is(0));
+    }
+
+    @Test
+    public void test_failedDecodeIsRetriedOnNextUse() throws Exception {
+        List<RawSound> received = new ArrayList<>();
+        loader.loadLazily(lazy, received::add);
+
+        int failed = builder.awaitLoad("lazy");
+        pool.complete(failed, 1);
+
+        assertThat(received, is(Arrays.asList((RawSound) null)));
+        assertThat(pool.unloaded(), is(Arrays.asList(failed)));
+        assertThat(loaded.containsKey("lazy"), is(false));
+
+        loader.loadLazily(lazy, received::add);
+        int soundId = builder.awaitLoad("lazy");
+        pool.complete(soundId, 0);
+
+        assertThat(received.size(), is(2));
+        assertThat(received.get(1).getSoundId(), is(soundId));
+        assertThat(builder.loadCount("lazy"), is(2));
+    }
+
+    @Test
+    public void test_unreadableLazySoundGivesNull() throws Exception {
+        CountDownLatch failed = new CountDownLatch(1);
+        List<RawSound> received = Collections.synchronizedList(new ArrayList<RawSound>());
+
+        loader.loadLazily(new Sound("broken", TestBuilder.BROKEN, 1), sound -> {
+            received.add(sound);
+            failed.countDown();
+        });
+
+        assertTrue(failed.await(1, TimeUnit.SECONDS));
+        assertThat(received.get(0), is(nullValue()));
+    }
+
+    @Test
+    public void test_useAfterShutdownGivesNull() {
+        loader.shutdown();
+
+        List<RawSound> received = new ArrayList<>();
+        loader.loadLazily(lazy, received::add);
+
+        assertThat(received, is(Arrays.asList((RawSound) null)));
+        assertThat(builder.loadCount("lazy"), is(0));
+    }
+
+    @Test
+    public void test_shutdownAnswersPendingUsesAndUnloadsLateDecodes() throws Exception {
+        List<RawSound> received = new ArrayList<>();
+        loader.loadLazily(lazy, received::add);
+        int soundId = builder.awaitLoad("lazy");
+
+        loader.shutdown();
+        assertThat(received, is(Arrays.asList((RawSound) null)));
+
+        pool.complete(soundId, 0);
+
+        assertThat(received.size(), is(1));
+        assertThat(loaded.containsKey("lazy"), is(false));
+        assertThat(pool.unloaded(), is(Arrays.asList(soundId)));
+    }
+
+    @Test
+    public void test_loadAllSoundDecodedAfterShutdownIsUnloaded() throws Exception {
+        CountDownLatch complete = new CountDownLatch(1);
+        loader.loadAll(Arrays.asList(new Sound("s", "10", 1)), complete::countDown);
+        assertTrue(complete.await(1, TimeUnit.SECONDS));
+
+        int soundId = builder.awaitLoad("s");
+        loader.shutdown();
+        pool.complete(soundId, 0);
+
+        assertThat(pool.unloaded(), is(Arrays.asList(soundId)));
+    }
+}
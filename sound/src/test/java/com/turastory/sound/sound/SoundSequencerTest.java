@@ -0,0 +1,157 @@
+package com.turastory.sound.sound;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Created by tura on 2026-10-18.
+ */
+public class SoundSequencerTest {
+
+    private final List<String> played = new ArrayList<>();
+    private final List<Long> playedAt = new ArrayList<>();
+
+    private FakeScheduler scheduler;
+    private SoundSequencer sequencer;
+    private int stops;
+    private int finishes;
+
+    @Before
+    public void setUp() {
+        scheduler = new FakeScheduler(1000);
+        sequencer = new SoundSequencer(new SoundSequencer.Player() {
+            @Override
+            public void play(RawSound sound) {
+                played.add(sound.getName());
+                playedAt.add(scheduler.now());
+            }
+
+            @Override
+            public void stop() {
+                stops++;
+            }
+        }, scheduler);
+    }
+
+    @Test
+    public void test_playsInOrderWithoutGaps() {
+        sequencer.start(Arrays.asList(sound("a", 100, 1), sound("b", 200, 2), sound("c", 50, 1)), () -> finishes++);
+
+        assertThat(sequencer.isPlaying(), is(true));
+
+        scheduler.runUntilIdle();
+
+        // b plays at twice the rate, so it takes 100 ms.
+        assertThat(played, is(Arrays.asList("a", "b", "c")));
+        assertThat(playedAt, is(Arrays.asList(1000L, 1100L, 1200L)));
+        assertThat(finishes, is(1));
+        assertThat(sequencer.isPlaying(), is(false));
+    }
+
+    @Test
+    public void test_finishesAfterLastClipEnds() {
+        sequencer.start(Arrays.asList(sound("a", 100, 1), sound("b", 100, 1)), () -> finishes++);
+
+        scheduler.advanceBy(199);
+        assertThat(finishes, is(0));
+
+        scheduler.advanceBy(1);
+        assertThat(finishes, is(1));
+    }
+
+    @Test
+    public void test_lateClipDoesNotShiftLaterClips() {
+        sequencer = new SoundSequencer(new SoundSequencer.Player() {
+            @Override
+            public void play(RawSound sound) {
+                playedAt.add(scheduler.now());
+
+                // The sequencer thread is held up for 150 ms while starting a.
+                if (sound.getName().equals("a"))
+                    scheduler.sleep(150);
+            }
+
+            @Override
+            public void stop() {
+            }
+        }, scheduler);
+
+        sequencer.start(Arrays.asList(sound("a", 100, 1), sound("b", 100, 1), sound("c", 100, 1)), null);
+        scheduler.runUntilIdle();
+
+        // b starts late, but c is still due 200 ms after the start.
+        assertThat(playedAt, is(Arrays.asList(1000L, 1150L, 1200L)));
+    }
+
+    @Test
+    public void test_zeroDurationClipsKeepOrder() {
+        sequencer.start(Arrays.asList(sound("a", 0, 1), sound("b", 0, 1), sound("c", 0, 1)), () -> finishes++);
+
+        scheduler.runUntilIdle();
+
+        assertThat(played, is(Arrays.asList("a", "b", "c")));
+        assertThat(finishes, is(1));
+    }
+
+    @Test
+    public void test_emptySequenceFinishesRightAway() {
+        sequencer.start(new ArrayList<RawSound>(), () -> finishes++);
+
+        scheduler.advanceBy(0);
+
+        assertThat(finishes, is(1));
+    }
+
+    @Test
+    public void test_stopCancelsRemainingClips() {
+        sequencer.start(Arrays.asList(sound("a", 100, 1), sound("b", 100, 1)), () -> finishes++);
+        scheduler.advanceBy(50);
+
+        sequencer.stop();
+        scheduler.runUntilIdle();
+
+        assertThat(played, is(Arrays.asList("a")));
+        assertThat(stops, is(1));
+        assertThat(finishes, is(0));
+        assertThat(scheduler.pendingCount(), is(0));
+
+        // Nothing left to stop.
+        sequencer.stop();
+        assertThat(stops, is(1));
+    }
+
+    @Test
+    public void test_startReplacesCurrentSequence() {
+        List<String> finished = new ArrayList<>();
+
+        sequencer.start(Arrays.asList(sound("a", 100, 1), sound("b", 100, 1)), () -> finished.add("first"));
+        scheduler.advanceBy(50);
+        sequencer.start(Arrays.asList(sound("c", 100, 1)), () -> finished.add("second"));
+        scheduler.runUntilIdle();
+
+        assertThat(played, is(Arrays.asList("a", "c")));
+        assertThat(playedAt.get(1), is(1050L));
+        assertThat(finished, is(Arrays.asList("second")));
+    }
+
+    @Test
+    public void test_releaseStopsAndReleasesScheduler() {
+        sequencer.start(Arrays.asList(sound("a", 100, 1)), null);
+
+        sequencer.release();
+
+        assertThat(stops, is(1));
+        assertThat(scheduler.isReleased(), is(true));
+    }
+
+    private static RawSound sound(String name, int duration, float rate) {
+        return new RawSound(name, name.hashCode(), rate, duration);
+    }
+}
@@ -0,0 +1,143 @@
+package com.turastory.sound.sound;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by tura on 2026-10-18.
+ */
+public class SoundsTest {
+
+    private final FakeSoundPool pool = new FakeSoundPool();
+    private final FakeScheduler scheduler = new FakeScheduler(0);
+    private final TestBuilder builder = new TestBuilder();
+    private final List<Long> finishedAt = new ArrayList<>();
+
+    private Sounds sounds;
+    private int a;
+    private int b;
+
+    @Before
+    public void setUp() throws Exception {
+        builder.addRawSound(new Sound("a", "100", 1))
+            .addRawSound(new Sound("b", "50", 1))
+            .addLazySound(new Sound("lazy", "200", 1))
+            .addLazySound(new Sound("broken", TestBuilder.BROKEN, 1))
+            .enableSequentialPlayback()
+            .setLoaderThreads(2);
+
+        CountDownLatch ready = new CountDownLatch(1);
+        sounds = builder.load(pool, scheduler, ready::countDown);
+
+        assertTrue(ready.await(1, TimeUnit.SECONDS));
+        a = builder.awaitLoad("a");
+        b = builder.awaitLoad("b");
+    }
+
+    @After
+    public void tearDown() {
+        sounds.unloadAll();
+    }
+
+    @Test
+    public void test_lazyClipIsPlayedInSequence() throws Exception {
+        sounds.playSequentially(Arrays.asList("a", "lazy", "b"), () -> finishedAt.add(scheduler.now()));
+
+        int lazy = builder.awaitLoad("lazy");
+        pool.complete(lazy, 0);
+        scheduler.runUntilIdle();
+
+        assertThat(pool.played(), is(Arrays.asList(a, lazy, b)));
+        assertThat(finishedAt, is(Arrays.asList(350L)));
+    }
+
+    @Test
+    public void test_undecodableLazyClipIsSkipped() throws Exception {
+        sounds.playSequentially(Arrays.asList("a", "lazy", "b"), () -> finishedAt.add(scheduler.now()));
+
+        int lazy = builder.awaitLoad("lazy");
+        pool.complete(lazy, 1);
+        scheduler.runUntilIdle();
+
+        assertThat(pool.played(), is(Arrays.asList(a, b)));
+        assertThat(finishedAt, is(Arrays.asList(150L)));
+        assertThat(pool.unloaded(), is(Arrays.asList(lazy)));
+    }
+
+    @Test
+    public void test_unreadableLazyClipIsSkipped() throws Exception {
+        sounds.playSequentially(Arrays.asList("a", "broken", "b"), () -> finishedAt.add(scheduler.now()));
+
+        // Fails on a loader thread, which then starts the sequence: a, b and the finish.
+        scheduler.awaitPending(3);
+        scheduler.runUntilIdle();
+
+        assertThat(pool.played(), is(Arrays.asList(a, b)));
+        assertThat(finishedAt, is(Arrays.asList(150L)));
+    }
+
+    @Test
+    public void test_sequenceOfFailedClipsStillFinishes() throws Exception {
+        sounds.playSequentially(Arrays.asList("lazy"), () -> finishedAt.add(scheduler.now()));
+
+        pool.complete(builder.awaitLoad("lazy"), 1);
+        scheduler.runUntilIdle();
+
+        assertThat(pool.played().size(), is(0));
+        assertThat(finishedAt, is(Arrays.asList(0L)));
+    }
+
+    @Test
+    public void test_failedLazySoundIsNotPlayed() throws Exception {
+        sounds.play("lazy");
+        pool.complete(builder.awaitLoad("lazy"), 1);
+
+        assertThat(pool.played().size(), is(0));
+
+        // Loading is tried again on the next use.
+        sounds.play("lazy");
+        int lazy = builder.awaitLoad("lazy");
+        pool.complete(lazy, 0);
+
+        assertThat(pool.played(), is(Arrays.asList(lazy)));
+    }
+
+    @Test
+    public void test_unknownNameIsRejectedBeforeLoading() {
+        try {
+            sounds.playSequentially(Arrays.asList("lazy", "unknown"), () -> finishedAt.add(scheduler.now()));
+            throw new AssertionError("unknown sound was accepted");
+        } catch (RuntimeException e) {
+            // expected
+        }
+
+        assertThat(builder.loadCount("lazy"), is(0));
+        assertThat(scheduler.pendingCount(), is(0));
+    }
+
+    @Test
+    public void test_nothingIsPlayedAfterUnloadAll() throws Exception {
+        sounds.playSequentially(Arrays.asList("a", "lazy"), () -> finishedAt.add(scheduler.now()));
+        int lazy = builder.awaitLoad("lazy");
+
+        sounds.unloadAll();
+        sounds.play("a");
+        pool.complete(lazy, 0);
+        scheduler.runUntilIdle();
+
+        assertThat(pool.played().size(), is(0));
+        assertThat(finishedAt.size(), is(0));
+        assertTrue(pool.unloaded().containsAll(Arrays.asList(a, b, lazy)));
+    }
+}
@@ -0,0 +1,87 @@
+package com.turastory.sound.sound;
+
+import android.media.MediaMetadataRetriever;
+import android.media.SoundPool;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Created by tura on 2026-10-18.
+ * <p>
+ * Builder for sounds whose path is their duration in ms, or "broken" for a sound that can't be read.
+ * Each load gets a new sound ID, which the test takes from {@link #awaitLoad(String)} to send the load event.
+ */
+class TestBuilder extends Sounds.Builder {
+
+    static final String BROKEN = "broken";
+
+    private final AtomicInteger nextSoundId = new AtomicInteger(1);
+    private final Map<String, BlockingQueue<Integer>> loads = new ConcurrentHashMap<>();
+    private final Map<String, Integer> loadCounts = new HashMap<>();
+
+    @Override
+    int loadSound(SoundPool pool, Sound sound) throws IOException {
+        if (BROKEN.equals(sound.getPath()))
+            throw new IOException("Cannot open " + sound.getName());
+
+        int soundId = nextSoundId.getAndIncrement();
+
+        synchronized (loadCounts) {
+            Integer count = loadCounts.get(sound.getName());
+            loadCounts.put(sound.getName(), count == null ? 1 : count + 1);
+        }
+
+        loads(sound.getName()).add(soundId);
+        return soundId;
+    }
+
+    @Override
+    int extractDuration(Sound sound, MediaMetadataRetriever retriever) throws IOException {
+        if (BROKEN.equals(sound.getPath()))
+            throw new IOException("Cannot read " + sound.getName());
+
+        return Integer.parseInt(sound.getPath());
+    }
+
+    @Override
+    DurationCache.Key durationCacheKey(Sound sound) {
+        return new DurationCache.Key(sound.getName(), 0, 0);
+    }
+
+    /**
+     * @return the sound ID of the next load of the sound.
+     */
+    int awaitLoad(String name) throws InterruptedException {
+        Integer soundId = loads(name).poll(1, TimeUnit.SECONDS);
+
+        if (soundId == null)
+            throw new AssertionError(name + " was not loaded");
+
+        return soundId;
+    }
+
+    int loadCount(String name) {
+        synchronized (loadCounts) {
+            Integer count = loadCounts.get(name);
+            return count == null ? 0 : count;
+        }
+    }
+
+    private BlockingQueue<Integer> loads(String name) {
+        BlockingQueue<Integer> queue = loads.get(name);
+
+        if (queue == null) {
+            loads.putIfAbsent(name, new LinkedBlockingQueue<Integer>());
+            queue = loads.get(name);
+        }
+
+        return queue;
+    }
+}